@@ -0,0 +1,183 @@
+package com.tellyes.platform.toolkit.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <pre>
+ * 分批并行处理管道
+ * 调用线程按顺序提交元素 凑满一批后交给线程池转换 转换结果在调用线程上回调
+ * 在途批次数量有上限 达到上限时调用线程等待 以此形成背压
+ * 线程池拒绝提交时在调用线程转换该批次
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:15
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ * @param <I> 输入类型
+ * @param <O> 输出类型
+ */
+final class ChunkPipeline<I, O> {
+    /**
+     * 默认在途批次上限
+     */
+    static final int DEFAULT_MAX_IN_FLIGHT = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final Executor executor;
+    private final Function<List<I>, List<O>> worker;
+    private final Consumer<List<O>> consumer;
+    private final int chunkSize;
+    private final int maxInFlight;
+    /**
+     * 是否按提交顺序回调
+     */
+    private final boolean ordered;
+    private final Deque<CompletableFuture<List<O>>> inFlight = new ArrayDeque<>();
+    private List<I> chunk;
+
+    /**
+     * @param executor    线程池
+     * @param chunkSize   批次大小
+     * @param maxInFlight 在途批次上限
+     * @param ordered     是否按提交顺序回调
+     * @param worker      批次转换 在线程池中执行
+     * @param consumer    结果回调 在调用线程中执行
+     */
+    ChunkPipeline(Executor executor, int chunkSize, int maxInFlight, boolean ordered,
+                  Function<List<I>, List<O>> worker, Consumer<List<O>> consumer) {
+        this.executor = Objects.requireNonNull(executor);
+        this.worker = Objects.requireNonNull(worker);
+        this.consumer = Objects.requireNonNull(consumer);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.ordered = ordered;
+        this.chunk = new ArrayList<>(this.chunkSize);
+    }
+
+    /**
+     * 提交元素
+     * @param item 元素
+     */
+    void add(I item) {
+        this.chunk.add(item);
+        if (this.chunk.size() >= this.chunkSize) {
+            this.submit();
+        }
+    }
+
+    /**
+     * 提交剩余元素并等待全部批次回调完成
+     */
+    void finish() {
+        if (!this.chunk.isEmpty()) {
+            this.submit();
+        }
+        while (!this.inFlight.isEmpty()) {
+            this.deliver(this.next());
+        }
+    }
+
+    /**
+     * 取消所有在途批次
+     */
+    void cancel() {
+        this.inFlight.forEach(future -> future.cancel(false));
+        this.inFlight.clear();
+        this.chunk.clear();
+    }
+
+    /**
+     * 提交当前批次
+     */
+    private void submit() {
+        List<I> current = this.chunk;
+        this.chunk = new ArrayList<>(this.chunkSize);
+        CompletableFuture<List<O>> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> this.worker.apply(current), this.executor);
+        } catch (RejectedExecutionException e) {
+            // 线程池已满 在调用线程转换 失败时与线程池中的批次一样在回调时抛出
+            future = new CompletableFuture<>();
+            try {
+                future.complete(this.worker.apply(current));
+            } catch (RuntimeException ex) {
+                future.completeExceptionally(ex);
+            }
+        }
+        this.inFlight.addLast(future);
+
+        // 回调已完成的批次
+        this.drain();
+        // 背压 在途批次达到上限时等待
+        while (this.inFlight.size() >= this.maxInFlight) {
+            this.deliver(this.next());
+        }
+    }
+
+    /**
+     * 回调已完成的批次 有序时只回调队首连续完成的批次
+     */
+    private void drain() {
+        if (this.ordered) {
+            while (!this.inFlight.isEmpty() && this.inFlight.peekFirst().isDone()) {
+                this.deliver(this.inFlight.pollFirst());
+            }
+            return;
+        }
+
+        Iterator<CompletableFuture<List<O>>> iterator = this.inFlight.iterator();
+        while (iterator.hasNext()) {
+            CompletableFuture<List<O>> future = iterator.next();
+            if (future.isDone()) {
+                iterator.remove();
+                this.deliver(future);
+            }
+        }
+    }
+
+    /**
+     * 下一个待回调的批次 无序时优先返回已完成的批次
+     * @return {@link CompletableFuture}
+     */
+    private CompletableFuture<List<O>> next() {
+        if (!this.ordered) {
+            Iterator<CompletableFuture<List<O>>> iterator = this.inFlight.iterator();
+            while (iterator.hasNext()) {
+                CompletableFuture<List<O>> future = iterator.next();
+                if (future.isDone()) {
+                    iterator.remove();
+                    return future;
+                }
+            }
+        }
+
+        return this.inFlight.pollFirst();
+    }
+
+    /**
+     * 等待批次完成并回调
+     * @param future 批次
+     */
+    private void deliver(CompletableFuture<List<O>> future) {
+        List<O> result;
+        try {
+            result = future.join();
+        } catch (CompletionException e) {
+            this.cancel();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        this.consumer.accept(result);
+    }
+}
@@ -0,0 +1,133 @@
+package com.tellyes.platform.toolkit.utils;
+
+import java.util.Arrays;
+
+/**
+ * <pre>
+ * Excel导出列宽估算器 一个sheet对应一个实例 非线程安全
+ * 按码点计算显示宽度 中日韩及全角字符按两个字符宽度计算
+ * 表头始终参与计算 内容行可只采样前N行或每隔k行
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:22
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+final class ColumnWidthEstimator {
+    /**
+     * 一个字符的列宽单位
+     */
+    private static final int CHAR_WIDTH = 256;
+    /**
+     * 列宽留白 4个字符
+     */
+    private static final int PADDING = CHAR_WIDTH * 4;
+    /**
+     * 单元格最大字符宽度 超过此长度的内容将自动换行
+     */
+    private static final int MAX_CHARS = (ExcelUtil.MAX_COLUMN_WIDTH - PADDING) / CHAR_WIDTH;
+
+    /**
+     * 采样行数 小于等于0时全部采样
+     */
+    private final int sampleRows;
+    /**
+     * 采样间隔
+     */
+    private final int sampleStep;
+    /**
+     * 每列最大字符宽度 -1表示未计算
+     */
+    private int[] widths;
+
+    ColumnWidthEstimator(int columns, ExportOptions options) {
+        this.sampleRows = options.getWidthSampleRows();
+        this.sampleStep = Math.max(1, options.getWidthSampleStep());
+        this.widths = new int[Math.max(columns, 8)];
+        Arrays.fill(this.widths, -1);
+    }
+
+    /**
+     * 内容行是否参与列宽计算
+     * @param index 内容行索引 从0开始 不含表头
+     * @return true/false
+     */
+    boolean isSampled(int index) {
+        return (this.sampleRows <= 0 || index < this.sampleRows) && index % this.sampleStep == 0;
+    }
+
+    /**
+     * 计算单元格内容宽度
+     * @param column 列索引
+     * @param text   单元格显示内容
+     */
+    void measure(int column, CharSequence text) {
+        if (column >= this.widths.length) {
+            int length = this.widths.length;
+            this.widths = Arrays.copyOf(this.widths, Math.max(column + 1, length * 2));
+            Arrays.fill(this.widths, length, this.widths.length, -1);
+        }
+        // 已达到最大宽度无需计算
+        if (this.widths[column] >= MAX_CHARS) {
+            return;
+        }
+
+        int width = width(text, MAX_CHARS);
+        if (width > this.widths[column]) {
+            this.widths[column] = width;
+        }
+    }
+
+    /**
+     * 最适合的列宽
+     * @param column 列索引
+     * @return 列宽 未计算的列返回-1
+     */
+    int width(int column) {
+        if (column >= this.widths.length || this.widths[column] < 0) {
+            return -1;
+        }
+
+        return this.widths[column] * CHAR_WIDTH + PADDING;
+    }
+
+    /**
+     * 文本显示宽度
+     * @param text  文本
+     * @param limit 超过后停止计算
+     * @return 字符宽度
+     */
+    static int width(CharSequence text, int limit) {
+        int width = 0;
+        int length = text.length();
+        for (int i = 0; i < length && width < limit; ) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                // ascii
+                width++;
+                i++;
+                continue;
+            }
+            int codePoint = Character.codePointAt(text, i);
+            width += isWide(codePoint) ? 2 : 1;
+            i += Character.charCount(codePoint);
+        }
+
+        return Math.min(width, limit);
+    }
+
+    /**
+     * 是否为双宽度字符 中日韩文字、谚文、全角符号
+     * @param codePoint 码点
+     * @return true/false
+     */
+    private static boolean isWide(int codePoint) {
+        return (codePoint >= 0x1100 && codePoint <= 0x115F)
+            || (codePoint >= 0x2E80 && codePoint <= 0xA4CF)
+            || (codePoint >= 0xAC00 && codePoint <= 0xD7A3)
+            || (codePoint >= 0xF900 && codePoint <= 0xFAFF)
+            || (codePoint >= 0xFE30 && codePoint <= 0xFE4F)
+            || (codePoint >= 0xFF00 && codePoint <= 0xFF60)
+            || (codePoint >= 0xFFE0 && codePoint <= 0xFFE6)
+            || (codePoint >= 0x20000 && codePoint <= 0x3FFFD);
+    }
+}
@@ -6,11 +6,16 @@ import org.springframework.http.MediaType;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.File;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
@@ -30,6 +35,14 @@ public interface DownloadUtil {
      */
     BiFunction<String, String, String> FORMAT_FILE_NAME = (name, suffix) ->
         String.format("attachment; filename=\"%s.%s\"", name, suffix);
+    /**
+     * 流下载缓冲区大小
+     */
+    int BUFFER_SIZE = 64 * 1024;
+    /**
+     * 区间单位
+     */
+    String BYTES = "bytes";
     /**
      * 判断是否是ie内核浏览器断言
      */
@@ -52,6 +65,230 @@ public interface DownloadUtil {
     static void download(HttpServletRequest request, HttpServletResponse response, String name, InputStream inStream,
                          String suffix)
         throws Exception {
+        attachment(request, response, name, suffix);
+
+        byte[] b = new byte[BUFFER_SIZE];
+        try (OutputStream out = response.getOutputStream()) {
+            int len;
+            while ((len = inStream.read(b)) > 0) {
+                out.write(b, 0, len);
+            }
+        } finally {
+            inStream.close();
+        }
+    }
+
+    /**
+     * <pre>
+     * http文件下载 支持断点续传
+     * 设置Content-Length、Accept-Ranges 支持单区间Range及If-Range 区间请求返回206
+     * 文件内容以{@link #BUFFER_SIZE}缓冲区复制到response输出流 中间不flush
+     * </pre>
+     * @param request  http request
+     * @param response http response
+     * @param name     文件名
+     * @param file     文件
+     * @param suffix   文件后缀
+     * @return 是否已发送完整文件 区间请求即使到达文件末尾也为false
+     * @throws Exception IOException
+     */
+    static boolean download(HttpServletRequest request, HttpServletResponse response, String name, File file,
+                            String suffix)
+        throws Exception {
+        return download(request, response, name, file, suffix, null);
+    }
+
+    /**
+     * <pre>
+     * http文件下载 支持断点续传及协商缓存
+     * 文件内容不变但修改时间会变化时(如记录访问时间)由调用方提供稳定的ETag
+     * If-None-Match与ETag一致时返回304
+     * </pre>
+     * @param request  http request
+     * @param response http response
+     * @param name     文件名
+     * @param file     文件
+     * @param suffix   文件后缀
+     * @param eTag     文件ETag 带双引号 为null时根据文件长度及修改时间生成
+     * @return 是否已发送完整文件 区间请求(包括末尾区间、分段下载)及返回304时为false
+     * @throws Exception IOException
+     */
+    static boolean download(HttpServletRequest request, HttpServletResponse response, String name, File file,
+                            String suffix, String eTag)
+        throws Exception {
+        long length = file.length();
+        long lastModified = file.lastModified();
+        if (Objects.isNull(eTag)) {
+            eTag = String.format("\"%d-%d\"", length, lastModified);
+        }
+        if (isNotModified(request, response, eTag)) {
+            return false;
+        }
+
+        attachment(request, response, name, suffix);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES);
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        // If-Range与当前文件不一致时忽略Range 返回完整文件
+        if (Objects.nonNull(range) && isRangeValid(request, eTag, lastModified)) {
+            long[] bounds = range(range, length);
+            if (Objects.isNull(bounds)) {
+                // 区间无法满足
+                response.setHeader(HttpHeaders.CONTENT_RANGE, String.format("%s */%d", BYTES, length));
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return false;
+            }
+            if (bounds.length > 0) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(
+                    HttpHeaders.CONTENT_RANGE,
+                    String.format("%s %d-%d/%d", BYTES, start, end, length)
+                );
+            }
+        }
+
+        // 未使用Range或区间覆盖整个文件时才可能完整发送
+        boolean whole = start == 0 && end == length - 1;
+        long count = end - start + 1;
+        response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(count));
+        // servlet输出流不是FileChannel 使用transferTo时jdk按8KB分块复制 直接使用64KB缓冲区复制
+        byte[] buffer = new byte[BUFFER_SIZE];
+        ByteBuffer wrapper = ByteBuffer.wrap(buffer);
+        try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+             OutputStream out = response.getOutputStream()) {
+            long position = start;
+            while (position <= end) {
+                wrapper.clear();
+                wrapper.limit((int) Math.min(buffer.length, end - position + 1));
+                int read = in.read(wrapper, position);
+                if (read <= 0) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+                position += read;
+            }
+
+            return whole && position > end;
+        }
+    }
+
+    /**
+     * If-None-Match校验 与ETag一致时设置304响应
+     * @param request  http request
+     * @param response http response
+     * @param eTag     ETag 带双引号
+     * @return 是否未修改
+     */
+    static boolean isNotModified(HttpServletRequest request, HttpServletResponse response, String eTag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (Objects.isNull(ifNoneMatch)) {
+            return false;
+        }
+
+        // 弱比较 忽略W/前缀
+        String opaque = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+        boolean matched = Arrays.stream(ifNoneMatch.split(Constants.COMMA))
+            .map(String::trim)
+            .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+            .anyMatch(tag -> "*".equals(tag) || tag.equals(opaque));
+        if (matched) {
+            response.setHeader(HttpHeaders.ETAG, eTag);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        }
+
+        return matched;
+    }
+
+    /**
+     * If-Range校验 无If-Range时有效
+     * @param request      http request
+     * @param eTag         文件ETag
+     * @param lastModified 文件最后修改时间
+     * @return true/false
+     */
+    static boolean isRangeValid(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (Objects.isNull(ifRange)) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
+
+        try {
+            // http日期精确到秒
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 解析Range请求头 只支持单区间
+     * @param range  Range请求头 如bytes=0-499、bytes=500-、bytes=-500
+     * @param length 文件长度
+     * @return [start, end] 无法解析、语法无效(如bytes=500-100)或多区间时返回空数组表示忽略Range返回完整文件
+     * 区间无法满足时返回null
+     */
+    static long[] range(String range, long length) {
+        String prefix = BYTES + "=";
+        if (!range.startsWith(prefix) || range.contains(Constants.COMMA)) {
+            return new long[0];
+        }
+
+        String spec = range.substring(prefix.length()).trim();
+        int index = spec.indexOf('-');
+        if (index < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, index).trim();
+            String last = spec.substring(index + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // 最后n个字节
+                long suffixLength = Long.parseLong(last);
+                if (suffixLength < 0) {
+                    return new long[0];
+                }
+                if (suffixLength == 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffixLength);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                long lastByte = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+                // 结束位置小于开始位置的区间语法无效 按RFC 7233忽略Range
+                if (start < 0 || lastByte < start) {
+                    return new long[0];
+                }
+                end = Math.min(lastByte, length - 1);
+            }
+
+            return start > end || start >= length ? null : new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    /**
+     * 设置附件下载响应头 调用方随后直接写入{@link HttpServletResponse#getOutputStream()}
+     * @param request  http request
+     * @param response http response
+     * @param name     文件名
+     * @param suffix   文件后缀
+     * @throws Exception UnsupportedEncodingException
+     */
+    static void attachment(HttpServletRequest request, HttpServletResponse response, String name, String suffix)
+        throws Exception {
         // 设置下载文件名
         String newFileName =
             Optional.of(request.getHeader(HttpHeaders.USER_AGENT).toUpperCase())
@@ -66,17 +303,5 @@ public interface DownloadUtil {
 
         response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
         response.setHeader(HttpHeaders.CONTENT_DISPOSITION, FORMAT_FILE_NAME.apply(newFileName, suffix));
-
-        byte[] b = new byte[100];
-        try (OutputStream outStream = response.getOutputStream();
-             PrintStream out = new PrintStream(outStream, true, UTF_8.getType())) {
-            int len;
-            while ((len = inStream.read(b)) > 0) {
-                out.write(b, 0, len);
-                out.flush();
-            }
-        } finally {
-            inStream.close();
-        }
     }
 }
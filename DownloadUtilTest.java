@@ -0,0 +1,155 @@
+package com.tellyes.core.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <pre>
+ * 文件下载Range、ETag处理
+ * 200完整发送、206区间、304未修改、416无法满足及无效Range忽略
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:57
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+public class DownloadUtilTest {
+    private static final int LENGTH = 1000;
+    private static final String E_TAG = "\"v1\"";
+
+    private File file;
+    private byte[] content;
+
+    @Before
+    public void setUp() throws IOException {
+        this.content = new byte[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            this.content[i] = (byte) i;
+        }
+        this.file = Files.createTempFile("download", ".xls").toFile();
+        Files.write(this.file.toPath(), this.content);
+    }
+
+    @After
+    public void tearDown() {
+        this.file.delete();
+    }
+
+    @Test
+    public void rangeParsesSingleRanges() {
+        assertArrayEquals(new long[]{0, 499}, DownloadUtil.range("bytes=0-499", LENGTH));
+        assertArrayEquals(new long[]{500, 999}, DownloadUtil.range("bytes=500-", LENGTH));
+        assertArrayEquals(new long[]{500, 999}, DownloadUtil.range("bytes=-500", LENGTH));
+        // 超出文件的部分截断
+        assertArrayEquals(new long[]{0, 999}, DownloadUtil.range("bytes=-2000", LENGTH));
+        assertArrayEquals(new long[]{900, 999}, DownloadUtil.range("bytes=900-2000", LENGTH));
+    }
+
+    @Test
+    public void rangeIgnoresInvalidSyntax() {
+        assertArrayEquals(new long[0], DownloadUtil.range("bytes=500-100", LENGTH));
+        assertArrayEquals(new long[0], DownloadUtil.range("bytes=0-1,5-9", LENGTH));
+        assertArrayEquals(new long[0], DownloadUtil.range("items=0-1", LENGTH));
+        assertArrayEquals(new long[0], DownloadUtil.range("bytes=abc", LENGTH));
+    }
+
+    @Test
+    public void rangeRejectsUnsatisfiable() {
+        assertNull(DownloadUtil.range("bytes=1000-", LENGTH));
+        assertNull(DownloadUtil.range("bytes=-0", LENGTH));
+    }
+
+    @Test
+    public void downloadWholeFile() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(DownloadUtil.download(this.request(), response, "a", this.file, "xls", E_TAG));
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals(E_TAG, response.getHeader(HttpHeaders.ETAG));
+        assertArrayEquals(this.content, response.getContentAsByteArray());
+    }
+
+    @Test
+    public void downloadTailRangeIsPartial() throws Exception {
+        MockHttpServletRequest request = this.request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=-100");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // 到达文件末尾的区间请求不是完整发送
+        assertFalse(DownloadUtil.download(request, response, "a", this.file, "xls", E_TAG));
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+        assertEquals("bytes 900-999/1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(100, response.getContentAsByteArray().length);
+        assertEquals(this.content[900], response.getContentAsByteArray()[0]);
+    }
+
+    @Test
+    public void downloadInvalidRangeReturnsWholeFile() throws Exception {
+        MockHttpServletRequest request = this.request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=500-100");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(DownloadUtil.download(request, response, "a", this.file, "xls", E_TAG));
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals(LENGTH, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void downloadUnsatisfiableRange() throws Exception {
+        MockHttpServletRequest request = this.request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2000-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(DownloadUtil.download(request, response, "a", this.file, "xls", E_TAG));
+        assertEquals(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatus());
+        assertEquals("bytes */1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    public void downloadNotModified() throws Exception {
+        MockHttpServletRequest request = this.request();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"v0\", " + E_TAG);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(DownloadUtil.download(request, response, "a", this.file, "xls", E_TAG));
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void downloadIgnoresRangeWhenIfRangeChanged() throws Exception {
+        MockHttpServletRequest request = this.request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"v0\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(DownloadUtil.download(request, response, "a", this.file, "xls", E_TAG));
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals(LENGTH, response.getContentAsByteArray().length);
+    }
+
+    /**
+     * 下载请求 文件名编码需要User-Agent
+     * @return {@link MockHttpServletRequest}
+     */
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.USER_AGENT, "Mozilla/5.0");
+
+        return request;
+    }
+}
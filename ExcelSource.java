@@ -0,0 +1,174 @@
+package com.tellyes.platform.toolkit.utils;
+
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import org.apache.commons.io.IOUtils;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <pre>
+ * Excel导入数据源
+ * 文件、路径按随机访问方式打开 不复制文件
+ * 流、字节数组直接交给解析器 无需先写入临时文件 流只能读取一次
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:16
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+public final class ExcelSource {
+    /**
+     * OLE2文件头
+     */
+    private static final byte[] OLE2_MAGIC = {
+        (byte) 0xD0, (byte) 0xCF, (byte) 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, (byte) 0x1A, (byte) 0xE1
+    };
+
+    private final File file;
+    private final InputStream inputStream;
+
+    private ExcelSource(File file, InputStream inputStream) {
+        this.file = file;
+        this.inputStream = inputStream;
+    }
+
+    /**
+     * 文件数据源
+     * @param file excel文件
+     * @return {@link ExcelSource}
+     */
+    public static ExcelSource of(File file) {
+        return new ExcelSource(Objects.requireNonNull(file), null);
+    }
+
+    /**
+     * 路径数据源
+     * @param path excel文件路径
+     * @return {@link ExcelSource}
+     */
+    public static ExcelSource of(Path path) {
+        return of(path.toFile());
+    }
+
+    /**
+     * 流数据源 如MultipartFile.getInputStream() 解析后流将被读取完毕
+     * @param inputStream excel流
+     * @return {@link ExcelSource}
+     */
+    public static ExcelSource of(InputStream inputStream) {
+        Objects.requireNonNull(inputStream);
+        // 需要预读文件头判断格式
+        return new ExcelSource(
+            null,
+            inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream)
+        );
+    }
+
+    /**
+     * 字节数组数据源
+     * @param bytes excel内容
+     * @return {@link ExcelSource}
+     */
+    public static ExcelSource of(byte[] bytes) {
+        return of(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * {@link ByteBuffer}数据源 从当前position读取到limit
+     * @param buffer excel内容
+     * @return {@link ExcelSource}
+     */
+    public static ExcelSource of(ByteBuffer buffer) {
+        return of(new ByteBufferBackedInputStream(buffer));
+    }
+
+    /**
+     * 是否为文件数据源
+     * @return true/false
+     */
+    public boolean isFile() {
+        return Objects.nonNull(this.file);
+    }
+
+    /**
+     * 文件 流数据源为null
+     * @return {@link File}
+     */
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * 是否为OLE2格式(xls)
+     * @return true/false
+     */
+    boolean isOle2() {
+        byte[] header = new byte[OLE2_MAGIC.length];
+        try {
+            int length;
+            if (this.isFile()) {
+                try (InputStream in = new FileInputStream(this.file)) {
+                    length = IOUtils.read(in, header);
+                }
+            } else {
+                // 预读后重置 不影响后续解析
+                this.inputStream.mark(header.length);
+                length = IOUtils.read(this.inputStream, header);
+                this.inputStream.reset();
+            }
+
+            return length == header.length && Arrays.equals(header, OLE2_MAGIC);
+        } catch (IOException e) {
+            throw ExceptionUtil.UTIL_EXCEPTION_FUNCTION.apply(e);
+        }
+    }
+
+    /**
+     * 打开xlsx包 文件以只读随机访问方式打开
+     * @return {@link OPCPackage}
+     * @throws IOException            读取异常
+     * @throws InvalidFormatException 格式异常
+     */
+    OPCPackage openPackage() throws IOException, InvalidFormatException {
+        return this.isFile() ?
+            OPCPackage.open(this.file.getPath(), PackageAccess.READ) : OPCPackage.open(this.inputStream);
+    }
+
+    /**
+     * 打开xls文件系统 文件以只读随机访问方式打开
+     * @return {@link NPOIFSFileSystem}
+     * @throws IOException 读取异常
+     */
+    NPOIFSFileSystem openFileSystem() throws IOException {
+        return this.isFile() ? new NPOIFSFileSystem(this.file, true) : new NPOIFSFileSystem(this.inputStream);
+    }
+
+    /**
+     * 加载整个workbook
+     * @return {@link Workbook}
+     * @throws IOException            读取异常
+     * @throws InvalidFormatException 格式异常
+     */
+    Workbook openWorkbook() throws IOException, InvalidFormatException {
+        return this.isFile() ? WorkbookFactory.create(this.file) : WorkbookFactory.create(this.inputStream);
+    }
+
+    @Override
+    public String toString() {
+        return this.isFile() ? this.file.getPath() : this.inputStream.toString();
+    }
+}
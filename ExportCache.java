@@ -0,0 +1,350 @@
+package com.tellyes.platform.toolkit.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tellyes.core.constants.FileTypeEnum;
+import com.tellyes.core.exception.UtilException;
+import com.tellyes.core.plugin.sequence.UUIDSequence;
+import com.tellyes.core.utils.DownloadUtil;
+import com.tellyes.platform.toolkit.vo.ExportConfigVo;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static com.tellyes.platform.toolkit.utils.ExcelConfigUtil.getExcelConfig;
+import static com.tellyes.platform.toolkit.utils.ExceptionUtil.UTIL_EXCEPTION_FUNCTION;
+
+/**
+ * <pre>
+ * Excel导出结果缓存
+ * 缓存键为导出配置、影响输出的导出选项及调用方提供的数据版本的SHA-256 相同键的导出只渲染一次
+ * 命中时直接发送缓存文件 并以缓存键作为ETag If-None-Match一致时返回304
+ * 数据版本由调用方保证 数据变化时必须变化 如最后更新时间、查询参数与数据行数的组合
+ * 缓存文件保存在独立的{@link ExportStore}中 按存活时间及容量淘汰 发送中的文件不会被淘汰
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:30
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+public final class ExportCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportCache.class);
+    /**
+     * 缓存键摘要算法
+     */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    /**
+     * 缓存默认容量 256MB
+     */
+    private static final long DEFAULT_QUOTA = 256L * 1024 * 1024;
+    /**
+     * 序列化导出配置 属性按字母排序保证同一配置序列化结果稳定
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
+    /**
+     * 缓存键 -> 正在渲染的文件 相同键的并发请求等待同一次渲染
+     */
+    private static final Map<String, CompletableFuture<File>> RENDERING = new ConcurrentHashMap<>(16);
+    /**
+     * 缓存存储 第一次使用时创建 使用{@link ExportOptions#setTempDirectory(File)}设置的目录
+     */
+    private static volatile ExportStore store;
+
+    private ExportCache() {
+    }
+
+    /**
+     * 根据yml配置下载excel 未命中缓存时查询数据并导出
+     * @param version 数据版本
+     * @param data    数据查询 只在未命中缓存时调用
+     */
+    public static void download(String version, Supplier<? extends List<?>> data) {
+        download(getExcelConfig(), version, data);
+    }
+
+    /**
+     * 根据{@code configVo}配置下载excel 未命中缓存时查询数据并导出
+     * @param configVo 导出配置
+     * @param version  数据版本
+     * @param data     数据查询 只在未命中缓存时调用
+     */
+    public static void download(ExportConfigVo configVo, String version, Supplier<? extends List<?>> data) {
+        download(configVo, ExportOptions.getDefault(), version, () -> data.get().iterator());
+    }
+
+    /**
+     * 根据{@code configVo}配置下载excel 未命中缓存时读取数据并导出
+     * @param configVo 导出配置
+     * @param options  导出选项
+     * @param version  数据版本
+     * @param data     数据读取 只在未命中缓存时调用
+     */
+    public static void download(ExportConfigVo configVo, ExportOptions options, String version,
+                                Supplier<? extends Iterator<?>> data) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        HttpServletRequest request = attributes.getRequest();
+        HttpServletResponse response = attributes.getResponse();
+        String key = key(configVo, options, version);
+        String eTag = String.format("\"%s\"", key);
+
+        // 浏览器每次使用缓存前重新校验
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        // 内容由缓存键决定 客户端持有相同ETag时无需读取数据及文件
+        if (DownloadUtil.isNotModified(request, response, eTag)) {
+            return;
+        }
+
+        String name = storeName(key);
+        ExportStore exportStore = getStore();
+        File file = acquire(key, configVo, options, data);
+        try {
+            DownloadUtil.download(request, response, configVo.getFileName(), file, FileTypeEnum.XLS.getType(), eTag);
+        } catch (Exception e) {
+            LOGGER.error(e.getMessage(), e);
+            throw new UtilException(e.getMessage());
+        } finally {
+            exportStore.release(name);
+        }
+    }
+
+    /**
+     * 获得缓存文件 未命中时导出 相同键同时只导出一次
+     * 返回的文件之后仍可能被淘汰 读取前需通过{@link ExportStore#acquire(String)}标记
+     * @param configVo 导出配置
+     * @param options  导出选项
+     * @param version  数据版本
+     * @param data     数据读取 只在未命中缓存时调用
+     * @return 缓存文件
+     */
+    public static File get(ExportConfigVo configVo, ExportOptions options, String version,
+                           Supplier<? extends Iterator<?>> data) {
+        return get(key(configVo, options, version), configVo, options, data);
+    }
+
+    /**
+     * 删除缓存文件
+     * @param configVo 导出配置
+     * @param options  导出选项
+     * @param version  数据版本
+     */
+    public static void evict(ExportConfigVo configVo, ExportOptions options, String version) {
+        getStore().delete(storeName(key(configVo, options, version)));
+    }
+
+    /**
+     * 获得缓存存储 未设置时在临时目录的cache目录中创建{@link LocalDiskExportStore}
+     * @return {@link ExportStore}
+     */
+    public static ExportStore getStore() {
+        ExportStore exportStore = store;
+        if (Objects.isNull(exportStore)) {
+            synchronized (ExportCache.class) {
+                exportStore = store;
+                if (Objects.isNull(exportStore)) {
+                    exportStore = new LocalDiskExportStore(
+                        new File(ExportOptions.getTempDirectory(), "cache"),
+                        LocalDiskExportStore.DEFAULT_TTL,
+                        DEFAULT_QUOTA,
+                        LocalDiskExportStore.DEFAULT_SWEEP_INTERVAL
+                    );
+                    store = exportStore;
+                }
+            }
+        }
+
+        return exportStore;
+    }
+
+    /**
+     * 设置缓存存储 不能与{@link ExportExcelUtil#setStore(ExportStore)}共用同一个存储
+     * 下载完成后删除文件的逻辑会删除缓存 原存储的后台清理停止
+     * @param exportStore {@link ExportStore}
+     */
+    public static void setStore(ExportStore exportStore) {
+        Objects.requireNonNull(exportStore);
+        ExportStore previous;
+        synchronized (ExportCache.class) {
+            previous = store;
+            store = exportStore;
+        }
+        if (Objects.nonNull(previous) && previous != exportStore) {
+            previous.shutdown();
+        }
+    }
+
+    /**
+     * 计算缓存键
+     * 只有影响文件内容的导出选项参与计算 线程池、SXSSF窗口等选项不影响结果
+     * @param configVo 导出配置
+     * @param options  导出选项
+     * @param version  数据版本
+     * @return 十六进制SHA-256
+     */
+    static String key(ExportConfigVo configVo, ExportOptions options, String version) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            digest.update(MAPPER.writeValueAsBytes(configVo));
+            digest.update(
+                String.format(
+                    "|%s|%d|%d|%d|",
+                    options.isStringCells(),
+                    options.getWidthSampleRows(),
+                    options.getWidthSampleStep(),
+                    options.getMaxRowsPerSheet()
+                ).getBytes(StandardCharsets.UTF_8)
+            );
+            digest.update(Objects.requireNonNull(version, "数据版本不能为空").getBytes(StandardCharsets.UTF_8));
+
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+
+            return hex.toString();
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            LOGGER.error(e.getMessage(), e);
+            throw UTIL_EXCEPTION_FUNCTION.apply(e);
+        }
+    }
+
+    /**
+     * 获得缓存文件并标记为读取中 读取结束后需调用{@link ExportStore#release(String)}
+     * 导出完成到标记之间文件可能被其他文件挤出容量 此时重新导出一次
+     * @param key      缓存键
+     * @param configVo 导出配置
+     * @param options  导出选项
+     * @param data     数据读取
+     * @return 缓存文件
+     */
+    private static File acquire(String key, ExportConfigVo configVo, ExportOptions options,
+                                Supplier<? extends Iterator<?>> data) {
+        String name = storeName(key);
+        for (int i = 0; i < 2; i++) {
+            get(key, configVo, options, data);
+            File file = getStore().acquire(name);
+            if (Objects.nonNull(file)) {
+                return file;
+            }
+        }
+
+        throw new UtilException("缓存文件已被淘汰 请重试");
+    }
+
+    /**
+     * 获得缓存文件 未命中时导出
+     * @param key      缓存键
+     * @param configVo 导出配置
+     * @param options  导出选项
+     * @param data     数据读取
+     * @return 缓存文件
+     */
+    private static File get(String key, ExportConfigVo configVo, ExportOptions options,
+                            Supplier<? extends Iterator<?>> data) {
+        String name = storeName(key);
+        File file = getStore().get(name);
+        if (Objects.nonNull(file)) {
+            return file;
+        }
+
+        CompletableFuture<File> future = new CompletableFuture<>();
+        CompletableFuture<File> rendering = RENDERING.putIfAbsent(key, future);
+        if (Objects.nonNull(rendering)) {
+            // 等待其他线程的导出结果
+            try {
+                return rendering.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof UtilException
+                    ? (UtilException) e.getCause()
+                    : UTIL_EXCEPTION_FUNCTION.apply(e.getCause());
+            }
+        }
+
+        try {
+            // 获取渲染权之前其他线程可能刚完成导出
+            file = getStore().get(name);
+            if (Objects.isNull(file)) {
+                file = render(name, configVo, options, data);
+            }
+            future.complete(file);
+
+            return file;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            RENDERING.remove(key, future);
+        }
+    }
+
+    /**
+     * 导出到临时文件 完成后移动为缓存文件 避免其他请求读取到不完整的文件
+     * 文件超出缓存容量时删除并抛出异常
+     * @param name     缓存文件名
+     * @param configVo 导出配置
+     * @param options  导出选项
+     * @param data     数据读取
+     * @return 缓存文件
+     */
+    private static File render(String name, ExportConfigVo configVo, ExportOptions options,
+                               Supplier<? extends Iterator<?>> data) {
+        ExportStore exportStore = getStore();
+        String partName = String.format("%s.%s.part", name, UUIDSequence.syncUuid());
+        File part = exportStore.allocate(partName);
+        File file = exportStore.allocate(name);
+        FileOutputStream out = null;
+        boolean rendered = false;
+        try {
+            out = new FileOutputStream(part);
+            ExportExcelUtil.export(out, data.get(), configVo, options);
+            out.close();
+            Files.move(part.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            rendered = true;
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage(), e);
+            throw UTIL_EXCEPTION_FUNCTION.apply(e);
+        } finally {
+            IOUtils.closeQuietly(out);
+            // 移动成功后临时文件已不存在
+            ExportExcelUtil.abort(exportStore, partName);
+            if (!rendered) {
+                ExportExcelUtil.abort(exportStore, name);
+            }
+        }
+        // 文件超出缓存容量时抛出异常
+        exportStore.complete(name);
+
+        return file;
+    }
+
+    /**
+     * 存储中的文件名
+     * @param key 缓存键
+     * @return 文件名 包括后缀
+     */
+    private static String storeName(String key) {
+        return String.format("%s.%s", key, FileTypeEnum.XLS.getType());
+    }
+}
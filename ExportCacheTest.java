@@ -0,0 +1,93 @@
+package com.tellyes.platform.toolkit.utils;
+
+import com.tellyes.platform.toolkit.vo.ExportConfigVo;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <pre>
+ * 导出缓存键及ETag
+ * 只有影响文件内容的输入参与缓存键 客户端持有相同ETag时不读取数据直接返回304
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:57
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+public class ExportCacheTest {
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void keyIsStableForSameInputs() {
+        String key = ExportCache.key(new ExportConfigVo(), new ExportOptions(), "v1");
+
+        assertEquals(key, ExportCache.key(new ExportConfigVo(), new ExportOptions(), "v1"));
+        assertTrue(key.matches("[0-9a-f]{64}"));
+    }
+
+    @Test
+    public void keyChangesWithContentInputs() {
+        String key = ExportCache.key(new ExportConfigVo(), new ExportOptions(), "v1");
+
+        assertNotEquals(key, ExportCache.key(new ExportConfigVo(), new ExportOptions(), "v2"));
+        assertNotEquals(
+            key,
+            ExportCache.key(new ExportConfigVo(), new ExportOptions().setStringCells(true), "v1")
+        );
+        assertNotEquals(
+            key,
+            ExportCache.key(new ExportConfigVo(), new ExportOptions().setMaxRowsPerSheet(100), "v1")
+        );
+    }
+
+    @Test
+    public void keyIgnoresExecutionOptions() {
+        String key = ExportCache.key(new ExportConfigVo(), new ExportOptions(), "v1");
+
+        assertEquals(
+            key,
+            ExportCache.key(
+                new ExportConfigVo(),
+                new ExportOptions().setRowAccessWindowSize(10).setPipelined(true).setChunkSize(10),
+                "v1"
+            )
+        );
+    }
+
+    @Test
+    public void matchingETagReturnsNotModifiedWithoutReadingData() {
+        ExportConfigVo configVo = new ExportConfigVo();
+        ExportOptions options = new ExportOptions();
+        String eTag = String.format("\"%s\"", ExportCache.key(configVo, options, "v1"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        Supplier<Iterator<?>> data = () -> {
+            fail("cache hit must not read data");
+            return null;
+        };
+
+        ExportCache.download(configVo, options, "v1", data);
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(eTag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals("private, no-cache", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+}
@@ -0,0 +1,354 @@
+package com.tellyes.platform.toolkit.utils;
+
+import com.tellyes.common.utils.DateUtil;
+import com.tellyes.core.constants.Constants;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <pre>
+ * Excel导出单元格写入器 一个workbook对应一个实例
+ * 持有workbook共享的表头、内容、时间样式 可在并行写入的多个sheet间共享
+ * 数字、时间、布尔值按原生类型写入 时间单元格样式按格式缓存
+ * 时间类型支持{@link Date}、{@link Calendar}、{@link LocalDate}及{@link LocalDateTime}
+ * NaN及无穷大excel无法表示 按文本写入
+ * 文本模式下所有值格式化为字符串写入
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:21
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+final class ExportCellWriter {
+    /**
+     * double可精确表示的最大整数
+     */
+    private static final int MAX_EXACT_BITS = 53;
+    private static final long MAX_EXACT_LONG = 1L << MAX_EXACT_BITS;
+    /**
+     * double可精确表示的有效数字位数
+     */
+    private static final int MAX_EXACT_PRECISION = 15;
+
+    private final Workbook workbook;
+    private final CellStyle headerStyle;
+    private final CellStyle contentStyle;
+    /**
+     * 列默认样式 文本模式下为文本格式 否则为null
+     */
+    private final CellStyle columnStyle;
+    private final boolean stringCells;
+    /**
+     * 时间格式 -> 单元格样式
+     */
+    private final Map<String, CellStyle> dateStyles = new ConcurrentHashMap<>(4);
+    private DataFormat dataFormat;
+
+    ExportCellWriter(Workbook workbook, ExportOptions options) {
+        this.workbook = workbook;
+        this.stringCells = options.isStringCells();
+        this.headerStyle = ExcelUtil.headerCellStyle(workbook);
+        this.contentStyle = ExcelUtil.contentCellStyle(workbook);
+        this.columnStyle = this.stringCells ? ExcelUtil.columnTypeStyle(workbook) : null;
+    }
+
+    /**
+     * 列默认样式
+     * @return {@link CellStyle} 非文本模式为null
+     */
+    CellStyle columnStyle() {
+        return this.columnStyle;
+    }
+
+    /**
+     * 写入表头单元格
+     * @param cell {@link Cell}
+     * @param name 表头名称
+     */
+    void header(Cell cell, String name) {
+        cell.setCellValue(name);
+        cell.setCellStyle(this.headerStyle);
+    }
+
+    /**
+     * 是否为文本模式
+     * @return true/false
+     */
+    boolean isStringCells() {
+        return this.stringCells;
+    }
+
+    /**
+     * 写入空单元格
+     * @param cell {@link Cell}
+     */
+    void blank(Cell cell) {
+        if (this.stringCells) {
+            cell.setCellValue(Constants.EMPTY);
+        }
+        cell.setCellStyle(this.contentStyle);
+    }
+
+    /**
+     * 写入单元格
+     * @param cell    {@link Cell}
+     * @param value   属性值
+     * @param pattern 时间格式
+     * @return 单元格显示内容 用于计算列宽 时间单元格返回格式
+     */
+    String write(Cell cell, Object value, String pattern) {
+        if (Objects.isNull(value)) {
+            this.blank(cell);
+            return Constants.EMPTY;
+        }
+        if (this.stringCells) {
+            return this.text(cell, format(value, pattern));
+        }
+
+        if (value instanceof Number) {
+            Number number = (Number) value;
+            if (!isFinite(number) || !isExact(number)) {
+                // NaN、无穷大及超出double精度的数字按文本写入 避免写入错误值或丢失精度
+                return this.text(cell, number.toString());
+            }
+            cell.setCellValue(number.doubleValue());
+            cell.setCellStyle(this.contentStyle);
+            return number.toString();
+        }
+        if (value instanceof Calendar) {
+            cell.setCellValue((Calendar) value);
+            cell.setCellStyle(this.dateStyle(pattern));
+            return pattern;
+        }
+        Date date = toDate(value);
+        if (Objects.nonNull(date)) {
+            cell.setCellValue(date);
+            cell.setCellStyle(this.dateStyle(pattern));
+            return pattern;
+        }
+        if (value instanceof Boolean) {
+            cell.setCellValue((Boolean) value);
+            cell.setCellStyle(this.contentStyle);
+            return value.toString();
+        }
+
+        return this.text(cell, value.toString());
+    }
+
+    /**
+     * 写入文本单元格
+     * @param cell {@link Cell}
+     * @param text 文本
+     * @return 文本
+     */
+    private String text(Cell cell, String text) {
+        cell.setCellValue(text);
+        cell.setCellStyle(this.contentStyle);
+        return text;
+    }
+
+    /**
+     * 时间单元格样式 基于内容样式 每种格式只创建一次
+     * workbook样式表非线程安全 创建时锁定workbook
+     * @param pattern java时间格式
+     * @return {@link CellStyle}
+     */
+    private CellStyle dateStyle(String pattern) {
+        CellStyle style = this.dateStyles.get(pattern);
+        if (Objects.isNull(style)) {
+            synchronized (this.workbook) {
+                style = this.dateStyles.get(pattern);
+                if (Objects.isNull(style)) {
+                    if (Objects.isNull(this.dataFormat)) {
+                        this.dataFormat = this.workbook.createDataFormat();
+                    }
+                    style = this.workbook.createCellStyle();
+                    style.cloneStyleFrom(this.contentStyle);
+                    style.setDataFormat(this.dataFormat.getFormat(excelFormat(pattern)));
+                    this.dateStyles.put(pattern, style);
+                }
+            }
+        }
+
+        return style;
+    }
+
+    /**
+     * 数字是否为有限值
+     * @param number 数字
+     * @return NaN及无穷大为false
+     */
+    private static boolean isFinite(Number number) {
+        if (number instanceof Double || number instanceof Float) {
+            double d = number.doubleValue();
+            return !Double.isNaN(d) && !Double.isInfinite(d);
+        }
+
+        return true;
+    }
+
+    /**
+     * 数字能否用double精确表示
+     * @param number 数字
+     * @return true/false
+     */
+    private static boolean isExact(Number number) {
+        if (number instanceof Long) {
+            // Math.abs(Long.MIN_VALUE)为负数 分别比较上下界
+            long l = number.longValue();
+            return l >= -MAX_EXACT_LONG && l <= MAX_EXACT_LONG;
+        }
+        if (number instanceof BigInteger) {
+            return ((BigInteger) number).bitLength() <= MAX_EXACT_BITS;
+        }
+        if (number instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) number;
+            double d = decimal.doubleValue();
+            // 有效数字不超过15位且指数在double范围内 如1E+400转换为无穷大、1E-400转换为0
+            return decimal.precision() <= MAX_EXACT_PRECISION
+                && !Double.isInfinite(d)
+                && (d != 0 || decimal.signum() == 0);
+        }
+
+        return true;
+    }
+
+    /**
+     * 文本模式下格式化单元格值
+     * @param value   属性值
+     * @param pattern 时间格式
+     * @return 字符串
+     */
+    static String format(Object value, String pattern) {
+        if (Objects.isNull(value)) {
+            return Constants.EMPTY;
+        }
+        Date date = toDate(value);
+
+        return Objects.nonNull(date) ? DateUtil.dateToString(date, pattern) : String.valueOf(value);
+    }
+
+    /**
+     * 时间类型的值转换为{@link Date}
+     * @param value 属性值
+     * @return {@link Date} 非时间类型返回null
+     */
+    private static Date toDate(Object value) {
+        if (value instanceof Date) {
+            return (Date) value;
+        }
+        if (value instanceof Calendar) {
+            return ((Calendar) value).getTime();
+        }
+        if (value instanceof LocalDate) {
+            return LocalDateUtil.toDate((LocalDate) value);
+        }
+        if (value instanceof LocalDateTime) {
+            return Date.from(((LocalDateTime) value).atZone(LocalDateUtil.ZONE_ID).toInstant());
+        }
+
+        return null;
+    }
+
+    /**
+     * java时间格式转换为excel数据格式 如yyyy-MM-dd HH:mm:ss -> yyyy-mm-dd hh:mm:ss
+     * 不支持的格式字符(时区、周数等)忽略
+     * @param pattern java时间格式
+     * @return excel数据格式
+     */
+    static String excelFormat(String pattern) {
+        StringBuilder format = new StringBuilder(pattern.length() + 8);
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int count = 1;
+            while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+                count++;
+            }
+
+            if (c == '\'') {
+                // 引号中的文本原样输出 ''表示单引号
+                int end = pattern.indexOf('\'', i + 1);
+                String literal = count == 2 ? "'" : pattern.substring(i + 1, end < 0 ? pattern.length() : end);
+                format.append('"').append(literal).append('"');
+                i = count == 2 ? i + 2 : (end < 0 ? pattern.length() : end + 1);
+                continue;
+            }
+
+            switch (c) {
+                case 'y':
+                    repeat(format, 'y', count <= 2 ? 2 : 4);
+                    break;
+                case 'M':
+                case 'L':
+                    // excel中月份与分钟同为m 分钟由前后的h、s区分
+                    repeat(format, 'm', Math.min(count, 4));
+                    break;
+                case 'd':
+                    repeat(format, 'd', Math.min(count, 2));
+                    break;
+                case 'E':
+                    repeat(format, 'd', count >= 4 ? 4 : 3);
+                    break;
+                case 'H':
+                case 'k':
+                case 'h':
+                case 'K':
+                    repeat(format, 'h', Math.min(count, 2));
+                    break;
+                case 'm':
+                    repeat(format, 'm', Math.min(count, 2));
+                    break;
+                case 's':
+                    repeat(format, 's', Math.min(count, 2));
+                    break;
+                case 'S':
+                    repeat(format, '0', Math.min(count, 3));
+                    break;
+                case 'a':
+                    format.append("AM/PM");
+                    break;
+                default:
+                    if (Character.isLetter(c) && c < 0x80) {
+                        // 不支持的格式字符
+                        break;
+                    }
+                    for (int j = 0; j < count; j++) {
+                        if (c < 0x80) {
+                            format.append(c);
+                        } else {
+                            // 非ascii字符作为文本 如年月日
+                            format.append('"').append(c).append('"');
+                        }
+                    }
+                    break;
+            }
+            i += count;
+        }
+
+        return format.toString();
+    }
+
+    /**
+     * 重复追加字符
+     * @param builder {@link StringBuilder}
+     * @param c       字符
+     * @param count   次数
+     */
+    private static void repeat(StringBuilder builder, char c, int count) {
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+    }
+}
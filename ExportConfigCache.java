@@ -0,0 +1,207 @@
+package com.tellyes.platform.toolkit.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.tellyes.core.exception.UtilException;
+import com.tellyes.platform.toolkit.vo.ExportConfigRootVo;
+import com.tellyes.platform.toolkit.vo.ExportConfigVo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.tellyes.platform.toolkit.utils.ExceptionUtil.UTIL_EXCEPTION_FUNCTION;
+
+/**
+ * <pre>
+ * yml导出配置缓存
+ * 每个业务类的yml文件只解析一次 方法配置在第一次获取时校验
+ * 开启{@link ExportOptions#isConfigReloadable()}时 文件修改后重新加载 只支持classpath目录中的文件
+ * {@link #get(Class, String)}返回共享的配置实例 导出过程只读取配置
+ * 需要修改配置时使用{@link #copy(Class, String)}获得新实例
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:31
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+final class ExportConfigCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportConfigCache.class);
+    /**
+     * yml解析 线程安全 全局共用
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper(new YAMLFactory());
+    /**
+     * 业务类 -> yml配置
+     */
+    private static final Map<Class<?>, ConfigFile> FILES = new ConcurrentHashMap<>(16);
+
+    private ExportConfigCache() {
+    }
+
+    /**
+     * 获得业务方法的导出配置
+     * @param clazz      业务类
+     * @param methodName 业务方法名
+     * @return {@link ExportConfigVo} 共享实例 不能修改
+     */
+    static ExportConfigVo get(Class<?> clazz, String methodName) {
+        return file(clazz).get(methodName);
+    }
+
+    /**
+     * 获得业务方法导出配置的新实例 由已解析的yml内容重新绑定 不重新读取文件
+     * @param clazz      业务类
+     * @param methodName 业务方法名
+     * @return {@link ExportConfigVo} 可修改
+     */
+    static ExportConfigVo copy(Class<?> clazz, String methodName) {
+        return file(clazz).copy(methodName);
+    }
+
+    /**
+     * 获得业务类的yml配置
+     * @param clazz 业务类
+     * @return {@link ConfigFile}
+     */
+    private static ConfigFile file(Class<?> clazz) {
+        return ExportOptions.isConfigReloadable()
+            ? FILES.compute(clazz, ExportConfigCache::reload)
+            : FILES.computeIfAbsent(clazz, ConfigFile::new);
+    }
+
+    /**
+     * 文件修改后重新加载
+     * @param clazz    业务类
+     * @param previous 已加载的配置 可为null
+     * @return {@link ConfigFile}
+     */
+    private static ConfigFile reload(Class<?> clazz, ConfigFile previous) {
+        if (Objects.nonNull(previous) && !previous.isModified()) {
+            return previous;
+        }
+
+        ConfigFile file = new ConfigFile(clazz);
+        if (Objects.nonNull(previous)) {
+            LOGGER.info(String.format("export config %s reloaded", file.url));
+        }
+
+        return file;
+    }
+
+    /**
+     * 一个yml文件的配置
+     */
+    private static final class ConfigFile {
+        private final URL url;
+        private final long lastModified;
+        /**
+         * 解析后的yml内容 用于创建配置的新实例
+         */
+        private final JsonNode tree;
+        /**
+         * 方法名 -> 未校验的配置
+         */
+        private final Map<String, ExportConfigVo> root;
+        /**
+         * 方法名 -> 已校验的配置
+         */
+        private final Map<String, ExportConfigVo> validated = new ConcurrentHashMap<>(8);
+
+        ConfigFile(Class<?> clazz) {
+            // yaml文件相对路径
+            String yamlFilePath = String.format("%s.yml", clazz.getSimpleName());
+            this.url = clazz.getResource(yamlFilePath);
+            if (Objects.isNull(this.url)) {
+                throw new UtilException(String.format("导出配置文件%s不存在", yamlFilePath));
+            }
+            this.lastModified = lastModified(this.url);
+            try {
+                this.tree = MAPPER.readTree(this.url);
+                this.root = MAPPER.treeToValue(this.tree, ExportConfigRootVo.class).getRoot();
+            } catch (Exception e) {
+                LOGGER.error(e.getMessage(), e);
+                throw UTIL_EXCEPTION_FUNCTION.apply(e);
+            }
+        }
+
+        /**
+         * 获得校验后的方法配置
+         * @param methodName 业务方法名
+         * @return {@link ExportConfigVo}
+         */
+        ExportConfigVo get(String methodName) {
+            return this.validated.computeIfAbsent(methodName, name -> this.validate(name, this.root.get(name)));
+        }
+
+        /**
+         * 获得校验后的方法配置新实例
+         * @param methodName 业务方法名
+         * @return {@link ExportConfigVo}
+         */
+        ExportConfigVo copy(String methodName) {
+            try {
+                return this.validate(
+                    methodName,
+                    MAPPER.treeToValue(this.tree, ExportConfigRootVo.class).getRoot().get(methodName)
+                );
+            } catch (UtilException e) {
+                throw e;
+            } catch (Exception e) {
+                LOGGER.error(e.getMessage(), e);
+                throw UTIL_EXCEPTION_FUNCTION.apply(e);
+            }
+        }
+
+        /**
+         * 校验方法配置
+         * @param methodName 业务方法名
+         * @param configVo   方法配置 可为null
+         * @return {@link ExportConfigVo}
+         */
+        private ExportConfigVo validate(String methodName, ExportConfigVo configVo) {
+            if (Objects.isNull(configVo)) {
+                throw new UtilException(String.format("%s中没有方法%s的导出配置", this.url, methodName));
+            }
+            try {
+                // 配置完整性验证
+                ExportConfigVo.validate(configVo);
+            } catch (UtilException e) {
+                throw e;
+            } catch (Exception e) {
+                throw UTIL_EXCEPTION_FUNCTION.apply(e);
+            }
+
+            return configVo;
+        }
+
+        /**
+         * 文件是否已修改
+         * @return true/false
+         */
+        boolean isModified() {
+            return lastModified(this.url) != this.lastModified;
+        }
+
+        /**
+         * 文件修改时间 jar中的文件不会修改 返回0
+         * @param url 文件
+         * @return 修改时间
+         */
+        private static long lastModified(URL url) {
+            if (!"file".equals(url.getProtocol())) {
+                return 0;
+            }
+            try {
+                return new File(url.toURI()).lastModified();
+            } catch (URISyntaxException e) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.tellyes.platform.toolkit.utils;
+
+import com.tellyes.platform.toolkit.annotation.ExportConfig;
+import com.tellyes.platform.toolkit.annotation.ExportConfigType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <pre>
+ * 通过方法栈查找标记{@link ExportConfig}的业务方法
+ * 每个类只加载及扫描注解一次 结果按类名、方法名缓存 之后的查找不创建新对象
+ * jdk及常用框架的类不会标记注解 直接跳过 不加载也不缓存
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:32
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+final class ExportConfigCallers {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportConfigCallers.class);
+    /**
+     * 跳过的类名前缀
+     */
+    private static final String[] SKIPPED_PACKAGES = {
+        "java.", "javax.", "jdk.", "sun.", "com.sun.", "org.springframework.", "org.apache.", "net.sf.cglib.",
+        "org.aspectj."
+    };
+    /**
+     * 类名 -> (方法名 -> 业务方法) 没有标记注解的类为空集合
+     */
+    private static final Map<String, Map<String, Caller>> CALLERS = new ConcurrentHashMap<>(64);
+
+    private ExportConfigCallers() {
+    }
+
+    /**
+     * 查找方法栈中第一个标记{@link ExportConfig}的方法
+     * @param type 导出配置类型 为null时不限类型
+     * @return {@link Caller} 没有找到时返回null
+     */
+    static Caller find(ExportConfigType type) {
+        for (StackTraceElement trace : new Throwable().getStackTrace()) {
+            String className = trace.getClassName();
+            if (isSkipped(className)) {
+                continue;
+            }
+            Map<String, Caller> callers = CALLERS.get(className);
+            if (Objects.isNull(callers)) {
+                callers = CALLERS.computeIfAbsent(className, ExportConfigCallers::resolve);
+            }
+            Caller caller = callers.get(trace.getMethodName());
+            if (Objects.nonNull(caller) && (Objects.isNull(type) || caller.getConfig().value() == type)) {
+                return caller;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 预先登记业务方法 之后查找方法栈时不再加载类及查找注解
+     * @param clazz      业务类 方法的声明类
+     * @param methodName 业务方法名
+     * @param config     方法上的{@link ExportConfig}
+     */
+    static void register(Class<?> clazz, String methodName, ExportConfig config) {
+        CALLERS.compute(clazz.getName(), (className, callers) -> {
+            Map<String, Caller> registered = new HashMap<>(Objects.isNull(callers) ? resolve(clazz) : callers);
+            registered.put(methodName, new Caller(clazz, methodName, config));
+
+            return registered;
+        });
+    }
+
+    /**
+     * 是否跳过的类
+     * @param className 类名
+     * @return true/false
+     */
+    private static boolean isSkipped(String className) {
+        for (String prefix : SKIPPED_PACKAGES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 加载类并扫描标记注解的方法
+     * @param className 类名
+     * @return 方法名 -> 业务方法
+     */
+    private static Map<String, Caller> resolve(String className) {
+        try {
+            return resolve(Class.forName(className));
+        } catch (ClassNotFoundException e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+
+        return Collections.emptyMap();
+    }
+
+    /**
+     * 扫描类中声明的标记注解的方法 方法栈中的类为方法的声明类 同名方法取第一个标记注解的方法
+     * @param clazz 类
+     * @return 方法名 -> 业务方法
+     */
+    private static Map<String, Caller> resolve(Class<?> clazz) {
+        Map<String, Caller> callers = new HashMap<>(4);
+        for (Method method : clazz.getDeclaredMethods()) {
+            ExportConfig config = AnnotationUtils.findAnnotation(method, ExportConfig.class);
+            if (Objects.nonNull(config)) {
+                callers.putIfAbsent(method.getName(), new Caller(clazz, method.getName(), config));
+            }
+        }
+
+        return callers.isEmpty() ? Collections.emptyMap() : callers;
+    }
+
+    /**
+     * 标记{@link ExportConfig}的业务方法
+     */
+    static final class Caller {
+        private final Class<?> type;
+        private final String methodName;
+        private final ExportConfig config;
+
+        Caller(Class<?> type, String methodName, ExportConfig config) {
+            this.type = type;
+            this.methodName = methodName;
+            this.config = config;
+        }
+
+        Class<?> getType() {
+            return type;
+        }
+
+        String getMethodName() {
+            return methodName;
+        }
+
+        ExportConfig getConfig() {
+            return config;
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.tellyes.platform.toolkit.utils;
 
-import com.tellyes.common.utils.CollectionUtil;
 import com.tellyes.common.utils.StringUtil;
 import com.tellyes.core.config.ThreadPoolConfig;
 import com.tellyes.core.constants.Constants;
@@ -11,10 +10,12 @@ import com.tellyes.core.utils.DownloadUtil;
 import com.tellyes.core.utils.SpringUtil;
 import com.tellyes.platform.toolkit.vo.ExportConfigVo;
 import org.apache.commons.io.IOUtils;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.WorkbookUtil;
 import org.apache.poi.xssf.streaming.SXSSFSheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.slf4j.Logger;
@@ -24,22 +25,31 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import javax.servlet.http.HttpServletResponse;
+
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static com.tellyes.platform.toolkit.utils.ExcelConfigUtil.getExcelConfig;
-import static com.tellyes.platform.toolkit.utils.ExcelUtil.autoFitColumnWidth;
-import static com.tellyes.platform.toolkit.utils.ExcelUtil.columnTypeStyle;
-import static com.tellyes.platform.toolkit.utils.ExcelUtil.headerCellStyle;
 import static com.tellyes.platform.toolkit.utils.ExceptionUtil.UTIL_EXCEPTION_FUNCTION;
 
 /**
@@ -50,19 +60,34 @@ import static com.tellyes.platform.toolkit.utils.ExceptionUtil.UTIL_EXCEPTION_FU
  */
 @Import(ThreadPoolConfig.class)
 public class ExportExcelUtil {
-    /**
-     * 临时excel文件存放位置
-     */
-    private static final String TEMP_EXCEL_PATH = "/WEB-INF/temp";
     private static final Logger LOGGER = LoggerFactory.getLogger(ExportExcelUtil.class);
     /**
      * 线程池
      */
     private static final ThreadPoolTaskExecutor EXECUTOR = SpringUtil.getBean("threadPoolTaskExecutor");
+    /**
+     * sheet名称最大长度
+     */
+    private static final int MAX_SHEET_NAME_LENGTH = 31;
+    /**
+     * 保存的导出文件存储 第一次使用时创建 使用{@link ExportOptions#setTempDirectory(File)}设置的目录
+     */
+    private static volatile ExportStore store;
 
     private ExportExcelUtil() {
     }
 
+    /**
+     * 获得指定业务方法的yml导出配置 不查找方法栈 用于在非@ExportConfig方法中导出或异步导出
+     * 每次返回由已解析的yml内容创建的新实例 可按需修改后导出 不影响缓存的配置
+     * @param clazz      业务类
+     * @param methodName 业务方法名
+     * @return {@link ExportConfigVo} 新的配置实例
+     */
+    public static ExportConfigVo getConfig(Class<?> clazz, String methodName) {
+        return ExportConfigCache.copy(clazz, methodName);
+    }
+
     /**
      * 临时保存excel文件 配置为json
      * @param list 数据
@@ -79,34 +104,199 @@ public class ExportExcelUtil {
      * @return 文件名
      */
     public static String save(List<?> list, ExportConfigVo configVo) {
-        SXSSFWorkbook workbook = initWorkbook(configVo, list);
+        return save(iterator(list), configVo);
+    }
+
+    /**
+     * 临时保存excel文件 数据按需从迭代器中读取
+     * @param data 数据
+     * @return 文件名
+     */
+    public static String save(Iterator<?> data) {
+        return save(data, getExcelConfig());
+    }
+
+    /**
+     * 临时保存excel文件 数据按需从流中读取 保存完毕后关闭流
+     * @param data     数据
+     * @param configVo 自定义配置
+     * @return 文件名
+     */
+    public static String save(Stream<?> data, ExportConfigVo configVo) {
+        try (Stream<?> stream = data) {
+            return save(stream.iterator(), configVo);
+        }
+    }
+
+    /**
+     * 临时保存excel文件 数据按页查询
+     * @param pageSupplier 分页查询 (offset, limit) -> 数据 返回空或不足一页时结束
+     * @param pageSize     每页数量
+     * @param configVo     自定义配置
+     * @return 文件名
+     */
+    public static String save(BiFunction<Integer, Integer, List<?>> pageSupplier, int pageSize,
+                              ExportConfigVo configVo) {
+        return save(new PageIterator(pageSupplier, pageSize), configVo);
+    }
+
+    /**
+     * 临时保存excel文件 数据按需从迭代器中读取 内存中只保留SXSSF窗口内的行
+     * @param data     数据
+     * @param configVo 自定义配置
+     * @return 文件名
+     */
+    public static String save(Iterator<?> data, ExportConfigVo configVo) {
+        return save(data, configVo, ExportOptions.getDefault());
+    }
+
+    /**
+     * 临时保存excel文件 数据按需从迭代器中读取 内存中只保留SXSSF窗口内的行
+     * @param data     数据
+     * @param configVo 自定义配置
+     * @param options  导出选项
+     * @return 文件名
+     */
+    public static String save(Iterator<?> data, ExportConfigVo configVo, ExportOptions options) {
+        return save(configVo.getFileName(), out -> export(out, data, configVo, options));
+    }
+
+    /**
+     * 多sheet临时保存excel文件 各sheet并行写入
+     * @param name   文件名
+     * @param sheets sheet列表
+     * @return 文件名
+     */
+    public static String save(String name, List<ExportSheet> sheets) {
+        return save(name, sheets, ExportOptions.getDefault());
+    }
+
+    /**
+     * 多sheet临时保存excel文件 各sheet并行写入
+     * @param name    文件名
+     * @param sheets  sheet列表
+     * @param options 导出选项
+     * @return 文件名
+     */
+    public static String save(String name, List<ExportSheet> sheets, ExportOptions options) {
+        return save(name, out -> export(out, sheets, options, EXECUTOR));
+    }
 
+    /**
+     * 临时保存excel文件
+     * @param name     文件名
+     * @param exporter 写入excel
+     * @return 文件名
+     */
+    private static String save(String name, Consumer<OutputStream> exporter) {
         // 临时文件名
-        String fileName = String.format("%s_%s", configVo.getFileName(), UUIDSequence.syncUuid());
+        String fileName = tempFileName(name);
+        write(tempFile(fileName), exporter);
 
-        FileOutputStream out = null;
-        try {
-            // 文件全路径
-            File file = new File(getFileFullPath(String.format("%s.%s", fileName, FileTypeEnum.XLS.getType())));
-            // temp目录不存在则创建目录
-            if (!file.getParentFile().exists()) {
-                file.getParentFile().mkdir();
-            }
+        return fileName;
+    }
 
-            // 文件不存在创建文件
-            if (!file.exists()) {
-                file.createNewFile();
+    /**
+     * 生成临时文件名 不包括后缀
+     * @param name 文件名
+     * @return 临时文件名
+     */
+    static String tempFileName(String name) {
+        return String.format("%s_%s", name, UUIDSequence.syncUuid());
+    }
+
+    /**
+     * 从存储中分配临时文件
+     * @param fileName 临时文件名 不包括后缀
+     * @return {@link File}
+     */
+    static File tempFile(String fileName) {
+        return getStore().allocate(storeName(fileName));
+    }
+
+    /**
+     * 存储中的文件名
+     * @param fileName 临时文件名 不包括后缀
+     * @return 文件名 包括后缀
+     */
+    private static String storeName(String fileName) {
+        return String.format("%s.%s", fileName, FileTypeEnum.XLS.getType());
+    }
+
+    /**
+     * 获得导出文件存储 未设置时在临时目录的files目录中创建{@link LocalDiskExportStore}
+     * @return {@link ExportStore}
+     */
+    public static ExportStore getStore() {
+        ExportStore exportStore = store;
+        if (Objects.isNull(exportStore)) {
+            synchronized (ExportExcelUtil.class) {
+                exportStore = store;
+                if (Objects.isNull(exportStore)) {
+                    exportStore = new LocalDiskExportStore(new File(ExportOptions.getTempDirectory(), "files"));
+                    store = exportStore;
+                }
             }
+        }
 
-            out = new FileOutputStream(file);
-            workbook.write(out);
+        return exportStore;
+    }
+
+    /**
+     * 设置导出文件存储 原存储中的文件不再由工具类管理 原存储的后台清理停止
+     * @param exportStore {@link ExportStore}
+     */
+    public static void setStore(ExportStore exportStore) {
+        Objects.requireNonNull(exportStore);
+        ExportStore previous;
+        synchronized (ExportExcelUtil.class) {
+            previous = store;
+            store = exportStore;
+        }
+        if (Objects.nonNull(previous) && previous != exportStore) {
+            previous.shutdown();
+        }
+    }
 
-            return fileName;
+    /**
+     * 写入存储分配的文件 写入失败删除不完整的文件
+     * @param file     {@link #tempFile(String)}分配的文件
+     * @param exporter 写入excel
+     */
+    static void write(File file, Consumer<OutputStream> exporter) {
+        FileOutputStream out = null;
+        boolean saved = false;
+        try {
+            out = new FileOutputStream(file);
+            exporter.accept(out);
+            saved = true;
+        } catch (UtilException e) {
+            throw e;
         } catch (Exception e) {
             LOGGER.error(e.getMessage(), e);
             throw UTIL_EXCEPTION_FUNCTION.apply(e);
         } finally {
             IOUtils.closeQuietly(out);
+            // 保存失败删除不完整的文件
+            if (!saved) {
+                abort(getStore(), file.getName());
+            }
+        }
+        // 文件超出存储容量时抛出异常
+        getStore().complete(file.getName());
+    }
+
+    /**
+     * 删除写入失败的文件并结束写入 不抛出异常 避免覆盖导出异常
+     * @param exportStore {@link ExportStore}
+     * @param name        文件名 包括后缀
+     */
+    static void abort(ExportStore exportStore, String name) {
+        try {
+            exportStore.delete(name);
+            exportStore.complete(name);
+        } catch (RuntimeException e) {
+            LOGGER.warn(e.getMessage(), e);
         }
     }
 
@@ -114,7 +304,7 @@ public class ExportExcelUtil {
      * 根据yml配置直接下载表头excel文件
      */
     public static void download() {
-        download(null, getExcelConfig());
+        download(Collections.emptyIterator(), getExcelConfig());
     }
 
     /**
@@ -131,18 +321,112 @@ public class ExportExcelUtil {
      * @param configVo excel配置信息
      */
     public static void download(List<?> list, ExportConfigVo configVo) {
-        SXSSFWorkbook workbook = initWorkbook(configVo, list);
-        // 输出文件流到response
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            workbook.write(out);
-            ByteArrayInputStream inputStream = new ByteArrayInputStream(out.toByteArray());
-            DownloadUtil.download(
+        download(iterator(list), configVo);
+    }
+
+    /**
+     * 根据yml配置直接下载excel 数据按需从迭代器中读取
+     * @param data 导出数据
+     */
+    public static void download(Iterator<?> data) {
+        download(data, getExcelConfig());
+    }
+
+    /**
+     * 根据{@code configVo}配置直接下载excel 数据按需从流中读取 下载完毕后关闭流
+     * @param data     数据
+     * @param configVo excel配置信息
+     */
+    public static void download(Stream<?> data, ExportConfigVo configVo) {
+        try (Stream<?> stream = data) {
+            download(stream.iterator(), configVo);
+        }
+    }
+
+    /**
+     * 根据{@code configVo}配置直接下载excel 数据按页查询
+     * @param pageSupplier 分页查询 (offset, limit) -> 数据 返回空或不足一页时结束
+     * @param pageSize     每页数量
+     * @param configVo     excel配置信息
+     */
+    public static void download(BiFunction<Integer, Integer, List<?>> pageSupplier, int pageSize,
+                                ExportConfigVo configVo) {
+        download(new PageIterator(pageSupplier, pageSize), configVo);
+    }
+
+    /**
+     * 根据{@code configVo}配置直接下载excel 数据按需从迭代器中读取
+     * @param data     数据
+     * @param configVo excel配置信息
+     */
+    public static void download(Iterator<?> data, ExportConfigVo configVo) {
+        download(data, configVo, ExportOptions.getDefault());
+    }
+
+    /**
+     * 根据{@code configVo}配置直接下载excel 数据按需从迭代器中读取
+     * @param data     数据
+     * @param configVo excel配置信息
+     * @param options  导出选项
+     */
+    public static void download(Iterator<?> data, ExportConfigVo configVo, ExportOptions options) {
+        download(configVo.getFileName(), out -> export(out, data, configVo, options));
+    }
+
+    /**
+     * 多sheet直接下载excel 各sheet并行写入
+     * @param name   文件名
+     * @param sheets sheet列表
+     */
+    public static void download(String name, List<ExportSheet> sheets) {
+        download(name, sheets, ExportOptions.getDefault());
+    }
+
+    /**
+     * 多sheet直接下载excel 各sheet并行写入
+     * @param name    文件名
+     * @param sheets  sheet列表
+     * @param options 导出选项
+     */
+    public static void download(String name, List<ExportSheet> sheets, ExportOptions options) {
+        download(name, out -> export(out, sheets, options, EXECUTOR));
+    }
+
+    /**
+     * <pre>
+     * 直接下载excel 不在内存或磁盘中缓冲整个文件
+     * 数据读取及单元格写入在SXSSF临时文件中进行 全部完成后才开始写入response
+     * 此前失败时响应未提交 重置响应后抛出异常 由异常处理返回错误响应
+     * 写入response中途失败时响应已提交 不关闭输出流 由容器中断连接 客户端下载失败而不是得到不完整的文件
+     * 需要保证完整性或支持续传时使用{@link #save(String, List)}及{@link #download(String)}
+     * </pre>
+     * @param name     文件名
+     * @param exporter 写入excel
+     */
+    private static void download(String name, Consumer<OutputStream> exporter) {
+        HttpServletResponse response = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes())
+            .getResponse();
+        try {
+            DownloadUtil.attachment(
                 ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest(),
-                ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getResponse(),
-                configVo.getFileName(),
-                inputStream,
+                response,
+                name,
                 FileTypeEnum.XLS.getType()
             );
+            OutputStream out = response.getOutputStream();
+            try {
+                exporter.accept(out);
+            } catch (RuntimeException e) {
+                if (!response.isCommitted()) {
+                    // 清除附件响应头 异常处理可正常返回错误信息
+                    response.reset();
+                }
+                throw e;
+            }
+            // 只有完整写入后才正常结束响应
+            out.close();
+        } catch (UtilException e) {
+            throw e;
         } catch (Exception e) {
             LOGGER.error(e.getMessage(), e);
             throw UTIL_EXCEPTION_FUNCTION.apply(e);
@@ -150,166 +434,687 @@ public class ExportExcelUtil {
     }
 
     /**
-     * 根据excel文件名下载
+     * 根据{@code configVo}配置导出excel到输出流 不依赖web请求 不关闭输出流
+     * @param out      输出流
+     * @param list     数据
+     * @param configVo excel配置信息
+     */
+    public static void export(OutputStream out, List<?> list, ExportConfigVo configVo) {
+        export(out, iterator(list), configVo);
+    }
+
+    /**
+     * 根据{@code configVo}配置导出excel到通道 不依赖web请求 不关闭通道
+     * @param channel  输出通道
+     * @param data     数据
+     * @param configVo excel配置信息
+     */
+    public static void export(WritableByteChannel channel, Iterator<?> data, ExportConfigVo configVo) {
+        // 不关闭包装流 由调用方关闭通道
+        export(Channels.newOutputStream(channel), data, configVo);
+    }
+
+    /**
+     * 根据{@code configVo}配置导出excel到输出流 不依赖web请求 不关闭输出流
+     * 数据按需从迭代器中读取 内存中只保留SXSSF窗口内的行
+     * @param out      输出流
+     * @param data     数据
+     * @param configVo excel配置信息
+     */
+    public static void export(OutputStream out, Iterator<?> data, ExportConfigVo configVo) {
+        export(out, data, configVo, ExportOptions.getDefault());
+    }
+
+    /**
+     * 根据{@code configVo}配置导出excel到输出流 不依赖web请求 不关闭输出流
+     * @param out      输出流
+     * @param data     数据
+     * @param configVo excel配置信息
+     * @param options  导出选项
+     */
+    public static void export(OutputStream out, Iterator<?> data, ExportConfigVo configVo, ExportOptions options) {
+        export(out, data, configVo, options, options.isPipelined() ? EXECUTOR : null);
+    }
+
+    /**
+     * 根据{@code configVo}配置导出excel到输出流 不依赖web请求 不关闭输出流
+     * 指定线程池时由线程池分批读取属性值 调用线程按顺序写入sheet
+     * @param out      输出流
+     * @param data     数据
+     * @param configVo excel配置信息
+     * @param options  导出选项
+     * @param executor 读取属性值的线程池 为null时在调用线程中读取
+     */
+    public static void export(OutputStream out, Iterator<?> data, ExportConfigVo configVo, ExportOptions options,
+                              Executor executor) {
+        SXSSFWorkbook workbook = ExportWorkbooks.create(options);
+        try {
+            initWorkbook(workbook, configVo, data, options, executor);
+            workbook.write(out);
+            out.flush();
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage(), e);
+            throw UTIL_EXCEPTION_FUNCTION.apply(e);
+        } finally {
+            // 成功或失败都删除SXSSF临时文件
+            ExportWorkbooks.dispose(workbook);
+        }
+    }
+
+    /**
+     * 多sheet导出excel到输出流 不依赖web请求 不关闭输出流
+     * sheet按列表顺序创建 各sheet的数据读取与单元格写入在线程池中并行执行 全部完成后一次写出
+     * 线程池拒绝时由调用线程写入
+     * @param out      输出流
+     * @param sheets   sheet列表
+     * @param options  导出选项
+     * @param executor 线程池
+     */
+    public static void export(OutputStream out, List<ExportSheet> sheets, ExportOptions options, Executor executor) {
+        SXSSFWorkbook workbook = ExportWorkbooks.create(options);
+        try {
+            ExportCellWriter writer = new ExportCellWriter(workbook, options);
+            // 按顺序创建sheet 保证sheet顺序与列表一致
+            List<SXSSFSheet> created = sheets.stream()
+                .map(sheet -> createSheet(workbook, sheet.getName()))
+                .collect(Collectors.toList());
+            Executor callerRuns = callerRuns(executor);
+            List<CompletableFuture<List<SXSSFSheet>>> futures = IntStream.range(0, sheets.size())
+                .mapToObj(i -> CompletableFuture.supplyAsync(
+                    () -> sheets.get(i).write(created.get(i), writer, options),
+                    callerRuns
+                ))
+                .collect(Collectors.toList());
+            // 等待全部sheet写入完成 失败时同样等待其他sheet结束后再释放workbook
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ?
+                    (RuntimeException) e.getCause() : UTIL_EXCEPTION_FUNCTION.apply(e.getCause());
+            }
+            // 续写的sheet创建在末尾 调整到所属sheet之后
+            int position = 0;
+            for (CompletableFuture<List<SXSSFSheet>> future : futures) {
+                for (SXSSFSheet sheet : future.join()) {
+                    workbook.setSheetOrder(sheet.getSheetName(), position++);
+                }
+            }
+
+            workbook.write(out);
+            out.flush();
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage(), e);
+            throw UTIL_EXCEPTION_FUNCTION.apply(e);
+        } finally {
+            sheets.forEach(ExportSheet::close);
+            ExportWorkbooks.dispose(workbook);
+        }
+    }
+
+    /**
+     * 根据excel文件名下载 支持断点续传 完整发送后删除文件 中断的下载保留文件以便续传
      * @param fileName 文件名不包括后缀
      */
     public static void download(String fileName) {
-        String fileFullPath = getFileFullPath(String.format("%s.%s", fileName, FileTypeEnum.XLS.getType()));
+        String name = storeName(fileName);
+        ExportStore exportStore = getStore();
+        // 下载过程中文件不会被淘汰
+        File file = exportStore.acquire(name);
+        if (Objects.isNull(file)) {
+            throw new UtilException(String.format("文件%s不存在或已过期", fileName));
+        }
+
+        boolean completed;
         try {
-            FileInputStream inputStream = new FileInputStream(fileFullPath);
-            DownloadUtil.download(
+            completed = DownloadUtil.download(
                 ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest(),
                 ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getResponse(),
                 fileName.split(Constants.UNDER_SCORE)[0],
-                inputStream,
-                FileTypeEnum.XLS.getType()
+                file,
+                FileTypeEnum.XLS.getType(),
+                // 存储记录访问时间会改变修改时间 文件名唯一且内容不变 作为ETag保证续传校验稳定
+                String.format("\"%s\"", fileName)
             );
         } catch (Exception e) {
             LOGGER.error(e.getMessage(), e);
             throw new UtilException(e.getMessage());
         } finally {
-            // 异步删除文件
-            EXECUTOR.execute(() ->
-                Optional.of(new File(fileFullPath))
-                    // 文件是否存在
-                    .filter(File::exists)
-                    // 删除文件
-                    .filter(File::delete)
-                    .ifPresent(file -> LOGGER.debug(String.format("file %s deleted!", fileFullPath)))
-            );
+            exportStore.release(name);
+        }
+
+        if (completed) {
+            // 异步删除文件 未下载完整的文件由存储按过期时间淘汰
+            EXECUTOR.execute(() -> exportStore.delete(name));
         }
     }
 
     /**
-     * 获得临时文件全路径
-     * @param fileName 临时文件名包含后缀
-     * @return 全路径文件名
+     * 分页查询迭代器
+     * @param pageSupplier 分页查询 (offset, limit) -> 数据 返回空或不足一页时结束
+     * @param pageSize     每页数量
+     * @return {@link Iterator}
      */
-    static String getFileFullPath(String fileName) {
-        // 临时文件路径
-        String fullPath = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest()
-            .getServletContext()
-            .getRealPath(TEMP_EXCEL_PATH);
-        return fullPath + File.separator + fileName;
+    static Iterator<?> pages(BiFunction<Integer, Integer, List<?>> pageSupplier, int pageSize) {
+        return new PageIterator(pageSupplier, pageSize);
+    }
+
+    /**
+     * 列表迭代器 列表为null时为空迭代器
+     * @param list 数据
+     * @return {@link Iterator}
+     */
+    private static Iterator<?> iterator(List<?> list) {
+        return Objects.isNull(list) ? Collections.emptyIterator() : list.iterator();
     }
 
     /**
      * 通过excel导出配置及数据写入excel
+     * @param workbook 指定workbook
      * @param configVo 配置信息
      * @param data     数据内容
-     * @return {@link SXSSFWorkbook}
+     * @param options  导出选项
+     * @param executor 读取属性值的线程池 可为null
      */
-    private static SXSSFWorkbook initWorkbook(ExportConfigVo configVo, List<?> data) {
-        return initWorkbook(new SXSSFWorkbook(), configVo, data);
+    private static void initWorkbook(SXSSFWorkbook workbook, ExportConfigVo configVo, Iterator<?> data,
+                                     ExportOptions options, Executor executor) {
+        writeSheet(
+            createSheet(workbook, null),
+            new ExportCellWriter(workbook, options),
+            configVo,
+            data,
+            options,
+            executor
+        );
     }
 
     /**
-     * 通过excel导出配置及数据写入excel 用于多个sheet
-     * @param workbook 指定workbook
+     * 创建sheet workbook非线程安全 创建时锁定workbook
+     * @param workbook {@link SXSSFWorkbook}
+     * @param name     sheet名称 为空时使用默认名称
+     * @return {@link SXSSFSheet}
+     */
+    private static SXSSFSheet createSheet(SXSSFWorkbook workbook, String name) {
+        synchronized (workbook) {
+            return StringUtil.isEmpty(name) ?
+                workbook.createSheet() : workbook.createSheet(WorkbookUtil.createSafeSheetName(name));
+        }
+    }
+
+    /**
+     * 写入sheet 不同sheet可在不同线程中同时写入
+     * 行数达到{@link ExportOptions#getMaxRowsPerSheet()}时创建新sheet继续写入 新sheet重新绘制表头
+     * 指定线程池时由线程池分批读取属性值 调用线程按顺序写入sheet
+     * @param sheet    第一个{@link SXSSFSheet}
+     * @param writer   单元格写入器
+     * @param configVo 配置信息
+     * @param data     数据内容
+     * @param options  导出选项
+     * @param executor 读取属性值的线程池 为null时在调用线程中读取
+     * @return 写入的全部sheet
+     */
+    private static List<SXSSFSheet> writeSheet(SXSSFSheet sheet, ExportCellWriter writer, ExportConfigVo configVo,
+                                               Iterator<?> data, ExportOptions options, Executor executor) {
+        SheetAppender appender = new SheetAppender(sheet, writer, configVo, options);
+        // 写入excel内容 逐条从数据源读取
+        if (Objects.nonNull(data) && data.hasNext()) {
+            if (Objects.isNull(executor)) {
+                while (data.hasNext()) {
+                    appender.append(data.next());
+                }
+            } else {
+                pipeline(appender, configVo, data, options, executor);
+            }
+        }
+
+        return appender.finish();
+    }
+
+    /**
+     * 线程池拒绝时在调用线程执行任务
+     * @param executor 线程池
+     * @return {@link Executor}
+     */
+    private static Executor callerRuns(Executor executor) {
+        return task -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * 流水线写入 调用线程读取数据源并按批次提交 线程池读取属性值(文本模式下同时格式化)
+     * 在途批次数量有上限 结果按提交顺序在调用线程中写入sheet 线程池拒绝时由调用线程读取
+     * @param appender sheet写入
      * @param configVo 配置信息
      * @param data     数据内容
-     * @return {@link SXSSFWorkbook}
+     * @param options  导出选项
+     * @param executor 线程池
      */
-    private static SXSSFWorkbook initWorkbook(SXSSFWorkbook workbook, ExportConfigVo configVo, List<?> data) {
-        SXSSFSheet sheet = workbook.createSheet();
-        // 存储适合的列宽
-        Map<Integer, Integer> fitColumnWidth = new HashMap<>(8);
+    private static void pipeline(SheetAppender appender, ExportConfigVo configVo, Iterator<?> data,
+                                 ExportOptions options, Executor executor) {
+        List<String> fields = configVo.getFields();
+        boolean format = options.isStringCells();
+        ChunkPipeline<Object, PreparedRow> pipeline = new ChunkPipeline<>(
+            callerRuns(executor),
+            options.getChunkSize(),
+            ChunkPipeline.DEFAULT_MAX_IN_FLIGHT,
+            true,
+            items -> {
+                List<PreparedRow> rows = new ArrayList<>(items.size());
+                ExportRowPlan plan = null;
+                for (Object item : items) {
+                    if (Objects.isNull(item)) {
+                        rows.add(PreparedRow.BLANK);
+                        continue;
+                    }
+                    plan = ExportRowPlan.of(plan, item, fields);
+                    rows.add(new PreparedRow(plan, plan.values(item, format)));
+                }
+
+                return rows;
+            },
+            rows -> rows.forEach(appender::append)
+        );
 
-        // 表头单元格格式
-        CellStyle headerStyle = headerCellStyle(workbook);
-        // 绘制表头
+        try {
+            while (data.hasNext()) {
+                pipeline.add(data.next());
+            }
+            pipeline.finish();
+        } catch (RuntimeException e) {
+            pipeline.cancel();
+            throw e;
+        }
+    }
+
+    /**
+     * 创建续写sheet 名称已被其他sheet使用时(如业务sheet名为"Sheet0(2)")序号递增
+     * 查找及创建在同一workbook锁中 并行写入的sheet续写时不会重名
+     * @param workbook {@link SXSSFWorkbook}
+     * @param name     原sheet名称
+     * @param index    续写序号 从1开始
+     * @return {@link SXSSFSheet}
+     */
+    private static SXSSFSheet createRolloverSheet(SXSSFWorkbook workbook, String name, int index) {
+        synchronized (workbook) {
+            String sheetName = rolloverSheetName(name, index);
+            for (int i = index + 1; workbook.getSheetIndex(sheetName) >= 0; i++) {
+                sheetName = rolloverSheetName(name, i);
+            }
+
+            return createSheet(workbook, sheetName);
+        }
+    }
+
+    /**
+     * 续写sheet名称 如"Sheet0(2)" 超出长度时截断原名称
+     * @param name  原sheet名称
+     * @param index 续写序号 从1开始
+     * @return sheet名称
+     */
+    private static String rolloverSheetName(String name, int index) {
+        String suffix = String.format("(%d)", index + 1);
+        int length = MAX_SHEET_NAME_LENGTH - suffix.length();
+
+        return (name.length() > length ? name.substring(0, length) : name) + suffix;
+    }
+
+    /**
+     * 绘制表头及合并单元格
+     * @param sheet          {@link SXSSFSheet}
+     * @param writer         单元格写入器
+     * @param configVo       配置信息
+     * @param widthEstimator 列宽估算器
+     */
+    private static void writeHeader(SXSSFSheet sheet, ExportCellWriter writer, ExportConfigVo configVo,
+                                    ColumnWidthEstimator widthEstimator) {
         configVo.getHeaders()
             .forEach(headers -> {
                 Row row = sheet.createRow(sheet.getPhysicalNumberOfRows());
                 // 表头
                 headers.forEach(head -> {
                     Cell cell = row.createCell(row.getPhysicalNumberOfCells());
-                    // 合并表头单元格
-                    if (head.isMerged()) {
-                        String[] indices = head.getMergeIndex().split(Constants.COMMA);
-                        sheet.addMergedRegion(
-                            new CellRangeAddress(
-                                Integer.parseInt(StringUtil.trim(indices[0])),
-                                Integer.parseInt(StringUtil.trim(indices[1])),
-                                Integer.parseInt(StringUtil.trim(indices[2])),
-                                Integer.parseInt(StringUtil.trim(indices[3]))
-                            )
-                        );
-                    }
-                    cell.setCellValue(head.getName());
-                    cell.setCellStyle(headerStyle);
-                    autoFitColumnWidth(fitColumnWidth, cell);
-                });
-            });
-
-        // 获得内容数据
-        Optional.ofNullable(data)
-            .filter(CollectionUtil::isNotEmpty)
-            .ifPresent(list -> {
-                // 内容样式
-                CellStyle columnStyle = ExcelUtil.contentCellStyle(workbook);
-                // 写入excel内容
-                list.forEach(item -> {
-                    Row row = sheet.createRow(sheet.getPhysicalNumberOfRows());
-                    configVo.getFields()
-                        .forEach(field -> {
-                            Cell cell = row.createCell(row.getPhysicalNumberOfCells());
-                            cell.setCellValue(ExcelUtil.getFieldValue(item, field));
-                            cell.setCellStyle(columnStyle);
-                            autoFitColumnWidth(fitColumnWidth, cell);
-                        });
+                    writer.header(cell, head.getName());
+                    widthEstimator.measure(cell.getColumnIndex(), head.getName());
                 });
             });
+        // 合并表头单元格
+        ExportLayout.of(configVo).getMergedRegions()
+            .forEach(region -> sheet.addMergedRegion(
+                new CellRangeAddress(region[0], region[1], region[2], region[3])
+            ));
+    }
 
-        // 计算最大列数
-        AtomicInteger columns = new AtomicInteger();
-        configVo.getHeaders().get(0)
-            .forEach(head -> {
-                // 合并单元格累加
-                Optional.of(head.isMerged())
-                    .filter(t -> t)
-                    .ifPresent(t -> {
-                        String[] indices = head.getMergeIndex().split(Constants.COMMA);
-                        int start = Integer.parseInt(StringUtil.trim(indices[0]));
-                        int end = Integer.parseInt(StringUtil.trim(indices[1]));
-                        columns.getAndAdd(end - start);
-                    });
-                // 非合并单元格
-                columns.incrementAndGet();
-            });
-
-        // 单元格数据格式
-        CellStyle cellStyle = columnTypeStyle(workbook);
+    /**
+     * 设置列宽、列格式及冻结窗口
+     * @param sheet          {@link SXSSFSheet}
+     * @param writer         单元格写入器
+     * @param configVo       配置信息
+     * @param widthEstimator 列宽估算器
+     */
+    private static void finishSheet(SXSSFSheet sheet, ExportCellWriter writer, ExportConfigVo configVo,
+                                    ColumnWidthEstimator widthEstimator) {
+        ExportLayout layout = ExportLayout.of(configVo);
+        // 单元格数据格式 文本模式下列格式为文本
+        CellStyle cellStyle = writer.columnStyle();
 
-        IntStream.range(0, columns.get())
+        IntStream.range(0, layout.getColumns())
             .forEach(index -> {
                 // 自适应列宽
-                sheet.setColumnWidth(index, fitColumnWidth.get(index));
+                int width = widthEstimator.width(index);
+                if (width > 0) {
+                    sheet.setColumnWidth(index, width);
+                }
                 // 设置单元格数据格式
-                sheet.setDefaultColumnStyle(index, cellStyle);
+                if (Objects.nonNull(cellStyle)) {
+                    sheet.setDefaultColumnStyle(index, cellStyle);
+                }
             });
 
         // 冻结表头
-        Optional.ofNullable(configVo.getFreezeIndex())
-            .filter(StringUtil::isNotEmpty)
-            .filter(s -> s.contains(Constants.COMMA))
-            .map(t -> {
-                String[] indices = t.split(Constants.COMMA);
-                // 若设置了冻结索引按照设置冻结窗口
-                sheet.createFreezePane(
-                    Integer.parseInt(StringUtil.trim(indices[0])),
-                    Integer.parseInt(StringUtil.trim(indices[1]))
+        sheet.createFreezePane(layout.getFreezeColumns(), layout.getFreezeRows());
+    }
+
+    /**
+     * sheet行写入 超过最大行数时续写到新sheet 非线程安全
+     */
+    private static final class SheetAppender {
+        private final SXSSFSheet first;
+        private final ExportCellWriter writer;
+        private final ExportConfigVo configVo;
+        private final List<String> fields;
+        /**
+         * 写入的全部sheet
+         */
+        private final List<SXSSFSheet> sheets = new ArrayList<>(1);
+        /**
+         * 适合的列宽 所有续写sheet共用
+         */
+        private final ColumnWidthEstimator widthEstimator;
+        private final int headerRows;
+        /**
+         * 每个sheet最大行数 至少保留一行内容
+         */
+        private final int maxRows;
+        private SXSSFSheet current;
+        /**
+         * 当前sheet下一行索引
+         */
+        private int rowNum;
+        /**
+         * 内容行索引
+         */
+        private int index;
+        /**
+         * 行渲染计划 同类型实体复用
+         */
+        private ExportRowPlan plan;
+
+        SheetAppender(SXSSFSheet sheet, ExportCellWriter writer, ExportConfigVo configVo, ExportOptions options) {
+            this.first = sheet;
+            this.current = sheet;
+            this.writer = writer;
+            this.configVo = configVo;
+            this.fields = configVo.getFields();
+            this.widthEstimator = new ColumnWidthEstimator(this.fields.size(), options);
+            this.headerRows = configVo.getHeaders().size();
+            this.maxRows = Math.max(
+                this.headerRows + 1,
+                Math.min(options.getMaxRowsPerSheet(), SpreadsheetVersion.EXCEL2007.getMaxRows())
+            );
+            this.rowNum = this.headerRows;
+            this.sheets.add(sheet);
+
+            // 绘制表头
+            writeHeader(sheet, writer, configVo, this.widthEstimator);
+        }
+
+        /**
+         * 写入实体
+         * @param item 实体
+         */
+        void append(Object item) {
+            boolean sampled = this.widthEstimator.isSampled(this.index++);
+            Row row = this.nextRow();
+            if (Objects.isNull(item)) {
+                this.blank(row);
+                return;
+            }
+
+            this.plan = ExportRowPlan.of(this.plan, item, this.fields);
+            for (int i = 0; i < this.plan.size(); i++) {
+                String text = this.writer.write(row.createCell(i), this.plan.value(i, item), this.plan.pattern(i));
+                if (sampled) {
+                    this.widthEstimator.measure(i, text);
+                }
+            }
+        }
+
+        /**
+         * 写入已读取属性值的行
+         * @param prepared 属性值
+         */
+        void append(PreparedRow prepared) {
+            boolean sampled = this.widthEstimator.isSampled(this.index++);
+            Row row = this.nextRow();
+            if (Objects.isNull(prepared.values)) {
+                this.blank(row);
+                return;
+            }
+
+            for (int i = 0; i < prepared.values.length; i++) {
+                String text = this.writer.write(row.createCell(i), prepared.values[i], prepared.plan.pattern(i));
+                if (sampled) {
+                    this.widthEstimator.measure(i, text);
+                }
+            }
+        }
+
+        /**
+         * 设置列宽、列格式及冻结窗口 列宽等写出workbook时才生成 全部内容写入后统一设置
+         * @return 写入的全部sheet
+         */
+        List<SXSSFSheet> finish() {
+            this.sheets.forEach(sheet -> finishSheet(sheet, this.writer, this.configVo, this.widthEstimator));
+
+            return this.sheets;
+        }
+
+        /**
+         * 创建下一行 超过最大行数时续写到新sheet
+         * @return {@link Row}
+         */
+        private Row nextRow() {
+            if (this.rowNum >= this.maxRows) {
+                this.current = createRolloverSheet(
+                    this.first.getWorkbook(),
+                    this.first.getSheetName(),
+                    this.sheets.size()
                 );
+                this.sheets.add(this.current);
+                writeHeader(this.current, this.writer, this.configVo, this.widthEstimator);
+                this.rowNum = this.headerRows;
+            }
 
-                return Constants.EMPTY;
-            })
-            .orElseGet(() -> {
-                // 默认冻结行
-                sheet.createFreezePane(0, configVo.getHeaders().size());
+            return this.current.createRow(this.rowNum++);
+        }
 
-                return Constants.EMPTY;
-            });
+        /**
+         * 写入空行
+         * @param row {@link Row}
+         */
+        private void blank(Row row) {
+            for (int i = 0; i < this.fields.size(); i++) {
+                this.writer.blank(row.createCell(i));
+            }
+        }
+    }
+
+    /**
+     * 已读取属性值的行
+     */
+    private static final class PreparedRow {
+        /**
+         * 空行
+         */
+        static final PreparedRow BLANK = new PreparedRow(null, null);
+
+        private final ExportRowPlan plan;
+        /**
+         * 属性值 文本模式下为格式化后的字符串
+         */
+        private final Object[] values;
 
-        return workbook;
+        PreparedRow(ExportRowPlan plan, Object[] values) {
+            this.plan = plan;
+            this.values = values;
+        }
+    }
+
+    /**
+     * 多sheet导出中的sheet (sheet名称, 导出配置, 数据源)
+     */
+    public static final class ExportSheet {
+        private final String name;
+        private final ExportConfigVo configVo;
+        private final Iterator<?> data;
+        /**
+         * 数据源资源 导出结束后关闭
+         */
+        private final AutoCloseable resource;
+
+        private ExportSheet(String name, ExportConfigVo configVo, Iterator<?> data, AutoCloseable resource) {
+            this.name = name;
+            this.configVo = Objects.requireNonNull(configVo);
+            this.data = data;
+            this.resource = resource;
+        }
+
+        /**
+         * 列表数据源sheet
+         * @param name     sheet名称 为空时使用默认名称
+         * @param configVo 导出配置
+         * @param data     数据
+         * @return {@link ExportSheet}
+         */
+        public static ExportSheet of(String name, ExportConfigVo configVo, List<?> data) {
+            return new ExportSheet(name, configVo, iterator(data), null);
+        }
+
+        /**
+         * 迭代器数据源sheet
+         * @param name     sheet名称 为空时使用默认名称
+         * @param configVo 导出配置
+         * @param data     数据
+         * @return {@link ExportSheet}
+         */
+        public static ExportSheet of(String name, ExportConfigVo configVo, Iterator<?> data) {
+            return new ExportSheet(name, configVo, data, null);
+        }
+
+        /**
+         * 流数据源sheet 导出结束后关闭流
+         * @param name     sheet名称 为空时使用默认名称
+         * @param configVo 导出配置
+         * @param data     数据
+         * @return {@link ExportSheet}
+         */
+        public static ExportSheet of(String name, ExportConfigVo configVo, Stream<?> data) {
+            return new ExportSheet(name, configVo, data.iterator(), data);
+        }
+
+        /**
+         * 分页查询数据源sheet
+         * @param name         sheet名称 为空时使用默认名称
+         * @param configVo     导出配置
+         * @param pageSupplier 分页查询 (offset, limit) -> 数据 返回空或不足一页时结束
+         * @param pageSize     每页数量
+         * @return {@link ExportSheet}
+         */
+        public static ExportSheet of(String name, ExportConfigVo configVo,
+                                     BiFunction<Integer, Integer, List<?>> pageSupplier, int pageSize) {
+            return new ExportSheet(name, configVo, new PageIterator(pageSupplier, pageSize), null);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ExportConfigVo getConfigVo() {
+            return configVo;
+        }
+
+        /**
+         * 写入sheet
+         * @param sheet   {@link SXSSFSheet}
+         * @param writer  单元格写入器
+         * @param options 导出选项
+         * @return 写入的全部sheet
+         */
+        private List<SXSSFSheet> write(SXSSFSheet sheet, ExportCellWriter writer, ExportOptions options) {
+            // sheet已在线程池中并行写入 不再使用流水线 避免同一线程池中嵌套等待
+            return writeSheet(sheet, writer, this.configVo, this.data, options, null);
+        }
+
+        /**
+         * 关闭数据源资源
+         */
+        private void close() {
+            if (Objects.nonNull(this.resource)) {
+                try {
+                    this.resource.close();
+                } catch (Exception e) {
+                    LOGGER.warn(e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 分页查询迭代器 逐页查询数据 内存中只保留当前页
+     */
+    private static final class PageIterator implements Iterator<Object> {
+        private final BiFunction<Integer, Integer, List<?>> pageSupplier;
+        private final int pageSize;
+        private int offset;
+        private Iterator<?> page = Collections.emptyIterator();
+        /**
+         * 是否已查询到最后一页
+         */
+        private boolean last;
+
+        PageIterator(BiFunction<Integer, Integer, List<?>> pageSupplier, int pageSize) {
+            if (pageSize <= 0) {
+                throw new UtilException("每页数量必须大于0");
+            }
+            this.pageSupplier = Objects.requireNonNull(pageSupplier);
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!this.page.hasNext() && !this.last) {
+                List<?> list = this.pageSupplier.apply(this.offset, this.pageSize);
+                int size = Objects.isNull(list) ? 0 : list.size();
+                this.offset += size;
+                // 不足一页说明是最后一页
+                this.last = size < this.pageSize;
+                this.page = iterator(list);
+            }
+
+            return this.page.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return this.page.next();
+        }
     }
 }
@@ -0,0 +1,157 @@
+package com.tellyes.platform.toolkit.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <pre>
+ * 异步导出任务状态
+ * 任务完成后通过{@link ExportExcelUtil#download(String)}下载{@link #getFileName()}
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:27
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+public class ExportJob {
+    /**
+     * 任务状态
+     */
+    public enum Status {
+        /**
+         * 排队中
+         */
+        WAITING,
+        /**
+         * 导出中
+         */
+        RUNNING,
+        /**
+         * 导出完成
+         */
+        FINISHED,
+        /**
+         * 导出失败
+         */
+        FAILED
+    }
+
+    private final String id;
+    /**
+     * 临时文件名 不包括后缀
+     */
+    private final String fileName;
+    /**
+     * 预计总行数 未知时为-1
+     */
+    private final long estimatedRows;
+    private final long createTime = System.currentTimeMillis();
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private volatile Status status = Status.WAITING;
+    private volatile String message;
+    private volatile long finishTime;
+
+    ExportJob(String id, String fileName, long estimatedRows) {
+        this.id = id;
+        this.fileName = fileName;
+        this.estimatedRows = estimatedRows;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * 已读取的数据行数
+     * @return 行数
+     */
+    public long getRows() {
+        return rows.get();
+    }
+
+    public long getEstimatedRows() {
+        return estimatedRows;
+    }
+
+    /**
+     * 已写入文件的字节数
+     * @return 字节数
+     */
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    /**
+     * 进度百分比 完成时为100 总行数未知时为-1
+     * @return 进度
+     */
+    public int getProgress() {
+        if (this.status == Status.FINISHED) {
+            return 100;
+        }
+        if (this.estimatedRows <= 0) {
+            return -1;
+        }
+
+        // 写出文件前最多到99
+        return (int) Math.min(99, this.rows.get() * 100 / this.estimatedRows);
+    }
+
+    /**
+     * 失败原因
+     * @return 异常信息
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    public long getCreateTime() {
+        return createTime;
+    }
+
+    /**
+     * 完成时间 未完成时为0
+     * @return 时间戳
+     */
+    public long getFinishTime() {
+        return finishTime;
+    }
+
+    /**
+     * 是否已结束
+     * @return true/false
+     */
+    public boolean isDone() {
+        return this.status == Status.FINISHED || this.status == Status.FAILED;
+    }
+
+    void running() {
+        this.status = Status.RUNNING;
+    }
+
+    void finished() {
+        this.finishTime = System.currentTimeMillis();
+        this.status = Status.FINISHED;
+    }
+
+    void failed(String message) {
+        this.message = message;
+        this.finishTime = System.currentTimeMillis();
+        this.status = Status.FAILED;
+    }
+
+    void addRow() {
+        this.rows.incrementAndGet();
+    }
+
+    void addBytes(int count) {
+        this.bytes.addAndGet(count);
+    }
+}
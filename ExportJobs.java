@@ -0,0 +1,291 @@
+package com.tellyes.platform.toolkit.utils;
+
+import com.tellyes.core.exception.UtilException;
+import com.tellyes.core.plugin.sequence.UUIDSequence;
+import com.tellyes.platform.toolkit.vo.ExportConfigVo;
+import org.apache.commons.io.output.ProxyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+import static com.tellyes.platform.toolkit.utils.ExcelConfigUtil.getExcelConfig;
+
+/**
+ * <pre>
+ * Excel异步导出任务
+ * 提交导出后立即返回任务id 导出在有界线程池中执行 队列已满时拒绝提交
+ * 通过{@link #getJob(String)}查询进度 完成后通过{@link #download(String)}下载
+ * 导出配置在提交时解析 文件保存在{@link ExportExcelUtil#getStore()}中 过期未下载的文件由存储淘汰
+ * 数据源在导出线程中读取 不能依赖请求作用域的资源
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:27
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+public final class ExportJobs {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportJobs.class);
+    /**
+     * 默认导出线程数
+     */
+    private static final int DEFAULT_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    /**
+     * 默认排队任务数
+     */
+    private static final int DEFAULT_QUEUE_CAPACITY = 16;
+    /**
+     * 结束的任务保留时间
+     */
+    private static final long RETENTION = TimeUnit.HOURS.toMillis(2);
+    /**
+     * 任务id -> 任务
+     */
+    private static final Map<String, ExportJob> JOBS = new ConcurrentHashMap<>(16);
+    private static volatile ThreadPoolExecutor executor = newExecutor(DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY);
+
+    private ExportJobs() {
+    }
+
+    /**
+     * 设置导出线程数及排队任务数 已提交的任务在原线程池中执行完毕
+     * @param threads       导出线程数
+     * @param queueCapacity 排队任务数
+     */
+    public static synchronized void configure(int threads, int queueCapacity) {
+        ThreadPoolExecutor previous = executor;
+        executor = newExecutor(threads, queueCapacity);
+        previous.shutdown();
+    }
+
+    /**
+     * 根据yml配置提交导出任务
+     * @param data 数据
+     * @return 任务id
+     */
+    public static String submit(List<?> data) {
+        return submit(data, getExcelConfig());
+    }
+
+    /**
+     * 根据{@code configVo}配置提交导出任务
+     * @param data     数据
+     * @param configVo 导出配置
+     * @return 任务id
+     */
+    public static String submit(List<?> data, ExportConfigVo configVo) {
+        return submit(data.iterator(), data.size(), configVo, ExportOptions.getDefault());
+    }
+
+    /**
+     * 根据{@code configVo}配置提交导出任务 导出结束后关闭流
+     * @param data          数据
+     * @param estimatedRows 预计总行数 未知时为-1
+     * @param configVo      导出配置
+     * @return 任务id
+     */
+    public static String submit(Stream<?> data, long estimatedRows, ExportConfigVo configVo) {
+        return submit(data.iterator(), estimatedRows, configVo, ExportOptions.getDefault(), data);
+    }
+
+    /**
+     * 根据{@code configVo}配置提交分页查询导出任务
+     * @param pageSupplier  分页查询 (offset, limit) -> 数据 返回空或不足一页时结束
+     * @param pageSize      每页数量
+     * @param estimatedRows 预计总行数 未知时为-1
+     * @param configVo      导出配置
+     * @return 任务id
+     */
+    public static String submit(BiFunction<Integer, Integer, List<?>> pageSupplier, int pageSize,
+                                long estimatedRows, ExportConfigVo configVo) {
+        return submit(ExportExcelUtil.pages(pageSupplier, pageSize), estimatedRows, configVo,
+            ExportOptions.getDefault());
+    }
+
+    /**
+     * 根据{@code configVo}配置提交导出任务
+     * @param data          数据
+     * @param estimatedRows 预计总行数 未知时为-1
+     * @param configVo      导出配置
+     * @param options       导出选项
+     * @return 任务id
+     */
+    public static String submit(Iterator<?> data, long estimatedRows, ExportConfigVo configVo,
+                                ExportOptions options) {
+        return submit(data, estimatedRows, configVo, options, null);
+    }
+
+    /**
+     * 获得任务
+     * @param id 任务id
+     * @return {@link ExportJob}
+     */
+    public static ExportJob getJob(String id) {
+        ExportJob job = JOBS.get(id);
+        if (Objects.isNull(job)) {
+            throw new UtilException(String.format("导出任务%s不存在或已过期", id));
+        }
+
+        return job;
+    }
+
+    /**
+     * 下载已完成的任务文件
+     * @param id 任务id
+     */
+    public static void download(String id) {
+        ExportJob job = getJob(id);
+        if (job.getStatus() != ExportJob.Status.FINISHED) {
+            throw new UtilException(String.format("导出任务%s未完成", id));
+        }
+
+        ExportExcelUtil.download(job.getFileName());
+    }
+
+    /**
+     * 提交导出任务
+     * @param data          数据
+     * @param estimatedRows 预计总行数
+     * @param configVo      导出配置
+     * @param options       导出选项
+     * @param resource      导出结束后关闭的资源 可为null
+     * @return 任务id
+     */
+    private static String submit(Iterator<?> data, long estimatedRows, ExportConfigVo configVo,
+                                 ExportOptions options, AutoCloseable resource) {
+        evict();
+        String fileName = ExportExcelUtil.tempFileName(configVo.getFileName());
+        File file = ExportExcelUtil.tempFile(fileName);
+        ExportJob job = new ExportJob(UUIDSequence.syncUuid(), fileName, estimatedRows);
+
+        JOBS.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, file, new CountingIterator(data, job), configVo, options, resource));
+        } catch (RejectedExecutionException e) {
+            JOBS.remove(job.getId());
+            ExportExcelUtil.getStore().complete(file.getName());
+            close(resource);
+            throw new UtilException("导出任务过多 请稍后再试");
+        }
+
+        return job.getId();
+    }
+
+    /**
+     * 执行导出
+     * @param job      任务
+     * @param file     临时文件
+     * @param data     数据
+     * @param configVo 导出配置
+     * @param options  导出选项
+     * @param resource 导出结束后关闭的资源
+     */
+    private static void run(ExportJob job, File file, Iterator<?> data, ExportConfigVo configVo,
+                            ExportOptions options, AutoCloseable resource) {
+        job.running();
+        try {
+            ExportExcelUtil.write(file, out -> ExportExcelUtil.export(
+                new ProxyOutputStream(out) {
+                    @Override
+                    protected void afterWrite(int n) {
+                        job.addBytes(n);
+                    }
+                },
+                data,
+                configVo,
+                options
+            ));
+            job.finished();
+        } catch (Exception e) {
+            LOGGER.error(e.getMessage(), e);
+            job.failed(e.getMessage());
+        } finally {
+            close(resource);
+        }
+    }
+
+    /**
+     * 移除过期的已结束任务
+     */
+    private static void evict() {
+        long expired = System.currentTimeMillis() - RETENTION;
+        JOBS.values().removeIf(job -> job.isDone() && job.getFinishTime() < expired);
+    }
+
+    /**
+     * 关闭资源
+     * @param resource 资源 可为null
+     */
+    private static void close(AutoCloseable resource) {
+        if (Objects.nonNull(resource)) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                LOGGER.warn(e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 有界线程池 队列已满时拒绝
+     * @param threads       线程数
+     * @param queueCapacity 队列容量
+     * @return {@link ThreadPoolExecutor}
+     */
+    private static ThreadPoolExecutor newExecutor(int threads, int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "excel-export-job-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        return new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            threadFactory,
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * 统计读取行数的迭代器
+     */
+    private static final class CountingIterator implements Iterator<Object> {
+        private final Iterator<?> delegate;
+        private final ExportJob job;
+
+        CountingIterator(Iterator<?> delegate, ExportJob job) {
+            this.delegate = delegate;
+            this.job = job;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.delegate.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            Object next = this.delegate.next();
+            this.job.addRow();
+
+            return next;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.tellyes.platform.toolkit.utils;
+
+import com.tellyes.common.utils.StringUtil;
+import com.tellyes.core.constants.Constants;
+import com.tellyes.platform.toolkit.vo.ExportConfigVo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <pre>
+ * 导出配置的表头布局 合并区域、最大列数及冻结窗口
+ * 布局按表头合并索引及冻结索引缓存 内容相同的配置(包括配置的拷贝)共用同一布局
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:31
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+final class ExportLayout {
+    /**
+     * 最多缓存的布局数 动态生成的配置过多时不再缓存
+     */
+    private static final int MAX_CACHED = 512;
+    /**
+     * 布局键 -> 布局
+     */
+    private static final Map<String, ExportLayout> LAYOUTS = new ConcurrentHashMap<>(16);
+
+    /**
+     * 表头合并区域 [firstRow, lastRow, firstCol, lastCol]
+     */
+    private final List<int[]> mergedRegions;
+    /**
+     * 最大列数
+     */
+    private final int columns;
+    /**
+     * 冻结列数
+     */
+    private final int freezeColumns;
+    /**
+     * 冻结行数
+     */
+    private final int freezeRows;
+
+    private ExportLayout(ExportConfigVo configVo) {
+        this.mergedRegions = new ArrayList<>();
+        configVo.getHeaders()
+            .forEach(headers -> headers.stream()
+                .filter(head -> head.isMerged())
+                .forEach(head -> this.mergedRegions.add(indices(head.getMergeIndex(), 4))));
+
+        // 第一行表头合并单元格累加
+        this.columns = configVo.getHeaders().get(0)
+            .stream()
+            .mapToInt(head -> {
+                if (head.isMerged()) {
+                    int[] indices = indices(head.getMergeIndex(), 2);
+                    return indices[1] - indices[0] + 1;
+                }
+
+                return 1;
+            })
+            .sum();
+
+        String freezeIndex = configVo.getFreezeIndex();
+        if (StringUtil.isNotEmpty(freezeIndex) && freezeIndex.contains(Constants.COMMA)) {
+            // 若设置了冻结索引按照设置冻结窗口
+            int[] indices = indices(freezeIndex, 2);
+            this.freezeColumns = indices[0];
+            this.freezeRows = indices[1];
+        } else {
+            // 默认冻结表头行
+            this.freezeColumns = 0;
+            this.freezeRows = configVo.getHeaders().size();
+        }
+    }
+
+    /**
+     * 获得配置的布局 未缓存时计算
+     * @param configVo 导出配置
+     * @return {@link ExportLayout}
+     */
+    static ExportLayout of(ExportConfigVo configVo) {
+        String key = key(configVo);
+        ExportLayout layout = LAYOUTS.get(key);
+        if (Objects.nonNull(layout)) {
+            return layout;
+        }
+
+        layout = new ExportLayout(configVo);
+        if (LAYOUTS.size() < MAX_CACHED) {
+            LAYOUTS.putIfAbsent(key, layout);
+        }
+
+        return layout;
+    }
+
+    /**
+     * 布局键 由计算布局用到的表头行数、每行表头的合并索引及冻结索引组成
+     * @param configVo 导出配置
+     * @return 布局键
+     */
+    private static String key(ExportConfigVo configVo) {
+        StringBuilder key = new StringBuilder(64).append(configVo.getFreezeIndex());
+        configVo.getHeaders().forEach(headers -> {
+            key.append('|');
+            headers.forEach(head -> key.append(head.isMerged() ? head.getMergeIndex() : Constants.EMPTY).append(';'));
+        });
+
+        return key.toString();
+    }
+
+    List<int[]> getMergedRegions() {
+        return mergedRegions;
+    }
+
+    int getColumns() {
+        return columns;
+    }
+
+    int getFreezeColumns() {
+        return freezeColumns;
+    }
+
+    int getFreezeRows() {
+        return freezeRows;
+    }
+
+    /**
+     * 解析逗号分隔的索引
+     * @param value 索引 如"0,0,1,2"
+     * @param count 解析个数
+     * @return 索引数组
+     */
+    private static int[] indices(String value, int count) {
+        String[] values = value.split(Constants.COMMA);
+        int[] indices = new int[count];
+        for (int i = 0; i < count; i++) {
+            indices[i] = Integer.parseInt(StringUtil.trim(values[i]));
+        }
+
+        return indices;
+    }
+}
@@ -0,0 +1,187 @@
+package com.tellyes.platform.toolkit.utils;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.File;
+import java.util.Objects;
+
+/**
+ * <pre>
+ * Excel导出选项
+ * 未指定选项的导出使用全局默认选项{@link #getDefault()}
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:21
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+public class ExportOptions {
+    /**
+     * 全局默认选项
+     */
+    private static volatile ExportOptions defaultOptions = new ExportOptions();
+    /**
+     * SXSSF临时文件目录 POI临时文件策略为全局设置 对所有导出生效
+     */
+    private static volatile File tempDirectory = new File(System.getProperty("java.io.tmpdir"), "excel-export");
+    /**
+     * yml导出配置修改后是否重新加载 每次获取配置时检查文件修改时间 用于开发环境
+     */
+    private static volatile boolean configReloadable = Boolean.getBoolean("excel.config.reloadable");
+
+    /**
+     * 是否以文本单元格导出所有值
+     * false时数字、时间、布尔值按原生类型写入 时间格式取自@JsonFormat
+     * true时所有值格式化为字符串 并设置列格式为文本(@)
+     */
+    private boolean stringCells;
+    /**
+     * 列宽计算采样行数 只计算前N行内容 小于等于0时计算全部内容行
+     */
+    private int widthSampleRows;
+    /**
+     * 列宽计算采样间隔 每隔k行计算一次
+     */
+    private int widthSampleStep = 1;
+    /**
+     * SXSSF内存中保留的行数 超出的行写入临时文件
+     */
+    private int rowAccessWindowSize = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+    /**
+     * 是否压缩SXSSF临时文件 大数据量导出时减少磁盘占用
+     */
+    private boolean compressTempFiles = true;
+    /**
+     * 每个sheet最大行数(含表头) 超出后续写到新sheet 默认为xlsx最大行数
+     */
+    private int maxRowsPerSheet = SpreadsheetVersion.EXCEL2007.getMaxRows();
+    /**
+     * 是否流水线导出 线程池分批读取属性值 调用线程按顺序写入sheet
+     * 适用于嵌套属性、时间格式化较多的大数据量单sheet导出 多sheet导出时不生效
+     */
+    private boolean pipelined;
+    /**
+     * 流水线导出每批行数
+     */
+    private int chunkSize = 256;
+
+    /**
+     * 获得全局默认选项
+     * @return {@link ExportOptions}
+     */
+    public static ExportOptions getDefault() {
+        return defaultOptions;
+    }
+
+    /**
+     * 设置全局默认选项
+     * @param options {@link ExportOptions}
+     */
+    public static void setDefault(ExportOptions options) {
+        defaultOptions = Objects.requireNonNull(options);
+    }
+
+    /**
+     * 获得SXSSF临时文件目录
+     * @return {@link File}
+     */
+    public static File getTempDirectory() {
+        return tempDirectory;
+    }
+
+    /**
+     * 设置SXSSF临时文件目录
+     * @param directory 目录
+     */
+    public static void setTempDirectory(File directory) {
+        tempDirectory = Objects.requireNonNull(directory);
+    }
+
+    /**
+     * yml导出配置修改后是否重新加载
+     * @return true/false
+     */
+    public static boolean isConfigReloadable() {
+        return configReloadable;
+    }
+
+    /**
+     * 设置yml导出配置修改后是否重新加载 默认取系统属性excel.config.reloadable
+     * @param reloadable true/false
+     */
+    public static void setConfigReloadable(boolean reloadable) {
+        configReloadable = reloadable;
+    }
+
+    public boolean isStringCells() {
+        return stringCells;
+    }
+
+    public ExportOptions setStringCells(boolean stringCells) {
+        this.stringCells = stringCells;
+        return this;
+    }
+
+    public int getWidthSampleRows() {
+        return widthSampleRows;
+    }
+
+    public ExportOptions setWidthSampleRows(int widthSampleRows) {
+        this.widthSampleRows = widthSampleRows;
+        return this;
+    }
+
+    public int getWidthSampleStep() {
+        return widthSampleStep;
+    }
+
+    public ExportOptions setWidthSampleStep(int widthSampleStep) {
+        this.widthSampleStep = widthSampleStep;
+        return this;
+    }
+
+    public int getRowAccessWindowSize() {
+        return rowAccessWindowSize;
+    }
+
+    public ExportOptions setRowAccessWindowSize(int rowAccessWindowSize) {
+        this.rowAccessWindowSize = rowAccessWindowSize;
+        return this;
+    }
+
+    public boolean isCompressTempFiles() {
+        return compressTempFiles;
+    }
+
+    public ExportOptions setCompressTempFiles(boolean compressTempFiles) {
+        this.compressTempFiles = compressTempFiles;
+        return this;
+    }
+
+    public int getMaxRowsPerSheet() {
+        return maxRowsPerSheet;
+    }
+
+    public ExportOptions setMaxRowsPerSheet(int maxRowsPerSheet) {
+        this.maxRowsPerSheet = maxRowsPerSheet;
+        return this;
+    }
+
+    public boolean isPipelined() {
+        return pipelined;
+    }
+
+    public ExportOptions setPipelined(boolean pipelined) {
+        this.pipelined = pipelined;
+        return this;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public ExportOptions setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+        return this;
+    }
+}
@@ -0,0 +1,330 @@
+package com.tellyes.platform.toolkit.utils;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.tellyes.common.utils.ReflectUtil;
+import com.tellyes.core.constants.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.tellyes.common.utils.ConstantDate.SDM_YYYY_MM_DD_HH_MM_SS;
+import static com.tellyes.common.utils.FieldUtil.GET;
+
+/**
+ * <pre>
+ * Excel导出行渲染计划
+ * 按(实体类型, 导出字段列表)编译一次 缓存字段读取句柄、嵌套属性路径及时间格式
+ * 渲染单元格时不再进行反射查找 只读取属性原始值 单元格类型由{@link ExportCellWriter}决定
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:09
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+final class ExportRowPlan {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportRowPlan.class);
+    /**
+     * 读取句柄统一类型 (Object)Object
+     */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    /**
+     * 渲染计划缓存 实体类型 -> 导出字段列表 -> 渲染计划
+     */
+    private static final ClassValue<Map<List<String>, ExportRowPlan>> PLANS =
+        new ClassValue<Map<List<String>, ExportRowPlan>>() {
+            @Override
+            protected Map<List<String>, ExportRowPlan> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>(4);
+            }
+        };
+
+    /**
+     * 实体类型
+     */
+    private final Class<?> type;
+    /**
+     * 列渲染器 与导出字段顺序一致
+     */
+    private final Column[] columns;
+
+    private ExportRowPlan(Class<?> type, Column[] columns) {
+        this.type = type;
+        this.columns = columns;
+    }
+
+    /**
+     * 获得实体类型对应的渲染计划
+     * @param type   实体类型
+     * @param fields 导出字段列表
+     * @return {@link ExportRowPlan}
+     */
+    static ExportRowPlan of(Class<?> type, List<String> fields) {
+        Map<List<String>, ExportRowPlan> plans = PLANS.get(type);
+        ExportRowPlan plan = plans.get(fields);
+        if (Objects.isNull(plan)) {
+            // 复制字段列表作为缓存key 防止调用方修改配置影响缓存
+            plan = plans.computeIfAbsent(
+                Collections.unmodifiableList(new ArrayList<>(fields)),
+                key -> compile(type, key)
+            );
+        }
+
+        return plan;
+    }
+
+    /**
+     * 获得实体对应的渲染计划 同类型实体复用上一次的计划
+     * @param previous 上一次使用的计划 可为null
+     * @param item     实体
+     * @param fields   导出字段列表
+     * @return {@link ExportRowPlan}
+     */
+    static ExportRowPlan of(ExportRowPlan previous, Object item, List<String> fields) {
+        if (Objects.nonNull(previous) && previous.type == item.getClass()) {
+            return previous;
+        }
+
+        return of(item.getClass(), fields);
+    }
+
+    /**
+     * 列数
+     * @return 列数
+     */
+    int size() {
+        return this.columns.length;
+    }
+
+    /**
+     * 获得实体指定列的属性值
+     * @param index 列索引
+     * @param item  实体
+     * @return 属性值 读取失败返回null
+     */
+    Object value(int index, Object item) {
+        try {
+            return this.columns[index].value(item);
+        } catch (Throwable e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+
+        return null;
+    }
+
+    /**
+     * 获得实体全部列的属性值
+     * @param item   实体
+     * @param format 是否格式化为字符串
+     * @return 属性值
+     */
+    Object[] values(Object item, boolean format) {
+        Object[] values = new Object[this.columns.length];
+        for (int i = 0; i < values.length; i++) {
+            Object value = this.value(i, item);
+            values[i] = format ? ExportCellWriter.format(value, this.pattern(i)) : value;
+        }
+
+        return values;
+    }
+
+    /**
+     * 获得指定列的时间格式
+     * @param index 列索引
+     * @return 时间格式
+     */
+    String pattern(int index) {
+        return this.columns[index].pattern();
+    }
+
+    /**
+     * 编译渲染计划
+     * @param type   实体类型
+     * @param fields 导出字段列表
+     * @return {@link ExportRowPlan}
+     */
+    private static ExportRowPlan compile(Class<?> type, List<String> fields) {
+        Column[] columns = new Column[fields.size()];
+        for (int i = 0; i < columns.length; i++) {
+            String field = fields.get(i);
+            columns[i] = Map.class.isAssignableFrom(type) ? new MapColumn(field) : compileColumn(type, field);
+        }
+
+        return new ExportRowPlan(type, columns);
+    }
+
+    /**
+     * 编译实体属性列 无法按声明类型解析的路径退化为运行时反射读取
+     * @param type      实体类型
+     * @param fieldName 字段名称 带点的为子属性
+     * @return {@link Column}
+     */
+    private static Column compileColumn(Class<?> type, String fieldName) {
+        String[] names = fieldName.split(Constants.TRANSFERRED_POINT);
+        MethodHandle[] getters = new MethodHandle[names.length];
+        Class<?> current = type;
+        Field field = null;
+        Class<?> owner = null;
+        for (int i = 0; i < names.length; i++) {
+            field = ReflectionUtils.findField(current, names[i]);
+            if (Objects.isNull(field)) {
+                LOGGER.debug(String.format("%s can not resolve field '%s' statically", type.getName(), fieldName));
+                return new DynamicColumn(names);
+            }
+            try {
+                ReflectionUtils.makeAccessible(field);
+                getters[i] = MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                LOGGER.debug(e.getMessage(), e);
+                return new DynamicColumn(names);
+            }
+            owner = current;
+            current = field.getType();
+        }
+
+        return new PathColumn(getters, datePattern(field, owner));
+    }
+
+    /**
+     * 时间格式 先判断属性上是否有@JsonFormat注解 再判断getter上是否有@JsonFormat注解
+     * 没有JsonFormat按照yyyy-MM-dd HH:mm:ss处理
+     * @param field 字段
+     * @param clazz 字段所属class
+     * @return 时间格式
+     */
+    static String datePattern(Field field, Class<?> clazz) {
+        JsonFormat annotation = field.getAnnotation(JsonFormat.class);
+        if (Objects.isNull(annotation)) {
+            try {
+                annotation = Optional.ofNullable(ReflectUtil.findGetter4Property(clazz, field.getName()))
+                    .map(getter -> getter.getAnnotation(JsonFormat.class))
+                    .orElse(null);
+            } catch (Exception e) {
+                // 没有getter方法
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
+
+        return Optional.ofNullable(annotation)
+            .map(JsonFormat::pattern)
+            .filter(pattern -> !pattern.isEmpty())
+            .orElse(SDM_YYYY_MM_DD_HH_MM_SS);
+    }
+
+    /**
+     * 列渲染器
+     */
+    private interface Column {
+        /**
+         * 读取实体对应列
+         * @param item 实体
+         * @return 属性值
+         * @throws Throwable 读取属性异常
+         */
+        Object value(Object item) throws Throwable;
+
+        /**
+         * 时间格式
+         * @return 时间格式
+         */
+        default String pattern() {
+            return SDM_YYYY_MM_DD_HH_MM_SS;
+        }
+    }
+
+    /**
+     * Map数据列 直接获取key值
+     */
+    private static final class MapColumn implements Column {
+        private final String key;
+
+        MapColumn(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public Object value(Object item) {
+            return ((Map<?, ?>) item).get(this.key);
+        }
+    }
+
+    /**
+     * 预解析的属性路径列
+     */
+    private static final class PathColumn implements Column {
+        private final MethodHandle[] getters;
+        private final String pattern;
+
+        PathColumn(MethodHandle[] getters, String pattern) {
+            this.getters = getters;
+            this.pattern = pattern;
+        }
+
+        @Override
+        public Object value(Object item) throws Throwable {
+            Object current = item;
+            for (MethodHandle getter : this.getters) {
+                // 前置实例为null 结束当前遍历
+                if (Objects.isNull(current)) {
+                    return null;
+                }
+                current = (Object) getter.invokeExact(current);
+            }
+
+            return current;
+        }
+
+        @Override
+        public String pattern() {
+            return this.pattern;
+        }
+    }
+
+    /**
+     * 按运行时类型反射读取的属性路径列 用于声明类型无法解析的属性
+     * 时间格式取自第一次读取到的字段
+     */
+    private static final class DynamicColumn implements Column {
+        private final String[] names;
+        private volatile String pattern;
+
+        DynamicColumn(String[] names) {
+            this.names = names;
+        }
+
+        @Override
+        public Object value(Object item) {
+            Object current = item;
+            Field field = null;
+            Class<?> clazz = null;
+            for (String name : this.names) {
+                if (Objects.isNull(current)) {
+                    return null;
+                }
+                clazz = current.getClass();
+                field = ReflectionUtils.findField(clazz, name);
+                current = GET.apply(field, current);
+            }
+            if (Objects.isNull(this.pattern) && Objects.nonNull(field)) {
+                this.pattern = datePattern(field, clazz);
+            }
+
+            return current;
+        }
+
+        @Override
+        public String pattern() {
+            return Objects.isNull(this.pattern) ? SDM_YYYY_MM_DD_HH_MM_SS : this.pattern;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.tellyes.platform.toolkit.utils;
+
+import java.io.File;
+
+/**
+ * <pre>
+ * 导出文件存储
+ * 保存的导出文件统一由存储分配路径、过期淘汰
+ * 通过{@link ExportExcelUtil#setStore(ExportStore)}替换默认的{@link LocalDiskExportStore}
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:28
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+public interface ExportStore {
+    /**
+     * 分配新文件 写入完成前不会被淘汰
+     * @param name 文件名 包括后缀
+     * @return {@link File}
+     */
+    File allocate(String name);
+
+    /**
+     * 文件写入结束 无论成功失败都需要调用
+     * @param name 文件名 包括后缀
+     * @throws com.tellyes.core.exception.UtilException 文件超出存储容量时删除文件并抛出
+     */
+    void complete(String name);
+
+    /**
+     * 获得已保存的文件 并记录访问时间
+     * @param name 文件名 包括后缀
+     * @return {@link File} 不存在或已过期返回null
+     */
+    File get(String name);
+
+    /**
+     * 获得已保存的文件并标记为读取中 读取中的文件不会被淘汰 读取结束后必须调用{@link #release(String)}
+     * 文件不存在时不需要释放
+     * @param name 文件名 包括后缀
+     * @return {@link File} 不存在或已过期返回null
+     */
+    default File acquire(String name) {
+        return this.get(name);
+    }
+
+    /**
+     * 文件读取结束
+     * @param name 文件名 包括后缀
+     */
+    default void release(String name) {
+    }
+
+    /**
+     * 删除文件
+     * @param name 文件名 包括后缀
+     */
+    void delete(String name);
+
+    /**
+     * 淘汰过期及超出容量的文件
+     */
+    void sweep();
+
+    /**
+     * 停止后台任务 存储被替换时调用
+     */
+    default void shutdown() {
+    }
+}
@@ -0,0 +1,172 @@
+package com.tellyes.platform.toolkit.utils;
+
+import com.tellyes.core.exception.UtilException;
+import com.tellyes.platform.toolkit.annotation.ExportConfig;
+import com.tellyes.platform.toolkit.annotation.ExportConfigType;
+import com.tellyes.platform.toolkit.vo.ExportConfigVo;
+import freemarker.template.Template;
+import org.apache.commons.io.output.NullOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <pre>
+ * 启动时预热Excel导出
+ * 所有单例创建后清理遗留的SXSSF临时文件并开始定期清理
+ * 扫描bean中标记{@link ExportConfig}的方法 加载并校验yml配置、编译freemarker模版
+ * 登记业务方法避免首次导出时查找方法栈 最后执行一次空数据导出初始化POI
+ * 配置错误时启动失败 可设置为只记录日志
+ * 需要时通过@Bean或@Import注册 默认不启用
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:33
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+public class ExportWarmUp implements SmartInitializingSingleton, ApplicationContextAware {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportWarmUp.class);
+    /**
+     * 配置错误时是否启动失败
+     */
+    private final boolean failFast;
+    private ApplicationContext applicationContext;
+
+    public ExportWarmUp() {
+        this(true);
+    }
+
+    /**
+     * @param failFast 配置错误时是否启动失败 false时只记录日志
+     */
+    public ExportWarmUp(boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.currentTimeMillis();
+        List<String> errors = new ArrayList<>();
+        ExportConfigVo sample = null;
+        int count = 0;
+
+        try {
+            ExportWorkbooks.start();
+        } catch (Exception e) {
+            LOGGER.error("sxssf temp directory initialization failed", e);
+            errors.add(String.format("temp directory: %s", e.getMessage()));
+        }
+        // 继承的方法按声明类加载配置 与导出时按方法栈查找的类一致 多个子类bean只预热一次
+        Set<String> warmed = new HashSet<>();
+        for (Class<?> beanClass : this.beanClasses()) {
+            for (Method method : this.exportMethods(beanClass)) {
+                Class<?> clazz = method.getDeclaringClass();
+                String name = clazz.getName() + "#" + method.getName();
+                if (!warmed.add(name)) {
+                    continue;
+                }
+                ExportConfig config = AnnotationUtils.findAnnotation(method, ExportConfig.class);
+                try {
+                    if (config.value() == ExportConfigType.FREEMARKER) {
+                        Template template = FreemarkerExportExcelUtil.getTemplate(clazz, method.getName());
+                        if (Objects.isNull(template)) {
+                            throw new UtilException("模版加载失败");
+                        }
+                    } else {
+                        ExportConfigVo configVo = ExcelConfigUtil.getExcelConfig(clazz, method.getName());
+                        sample = Objects.isNull(sample) ? configVo : sample;
+                    }
+                    ExportConfigCallers.register(clazz, method.getName(), config);
+                    count++;
+                } catch (Exception e) {
+                    LOGGER.error(String.format("export config of %s is invalid", name), e);
+                    errors.add(String.format("%s: %s", name, e.getMessage()));
+                }
+            }
+        }
+
+        if (Objects.nonNull(sample)) {
+            this.dummyExport(sample, errors);
+        }
+        if (!errors.isEmpty() && this.failFast) {
+            throw new UtilException(String.format("Excel导出配置错误%n%s", String.join(System.lineSeparator(), errors)));
+        }
+
+        LOGGER.info(String.format(
+            "%d export methods warmed up in %d ms, %d errors",
+            count,
+            System.currentTimeMillis() - start,
+            errors.size()
+        ));
+    }
+
+    /**
+     * 空数据导出 初始化POI、SXSSF及样式相关的类
+     * @param configVo 导出配置
+     * @param errors   错误信息
+     */
+    private void dummyExport(ExportConfigVo configVo, List<String> errors) {
+        try {
+            ExportExcelUtil.export(
+                NullOutputStream.NULL_OUTPUT_STREAM,
+                Collections.emptyIterator(),
+                configVo,
+                ExportOptions.getDefault(),
+                null
+            );
+        } catch (Exception e) {
+            LOGGER.error("dummy export failed", e);
+            errors.add(String.format("dummy export: %s", e.getMessage()));
+        }
+    }
+
+    /**
+     * 容器中bean的原始类型 去除CGLIB代理
+     * @return 类型集合
+     */
+    private Set<Class<?>> beanClasses() {
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        for (String beanName : this.applicationContext.getBeanDefinitionNames()) {
+            Class<?> type = this.applicationContext.getType(beanName);
+            if (Objects.nonNull(type)) {
+                classes.add(ClassUtils.getUserClass(type));
+            }
+        }
+
+        return classes;
+    }
+
+    /**
+     * 类中标记{@link ExportConfig}的方法 包括父类中声明的方法
+     * @param clazz 类型
+     * @return 方法列表
+     */
+    private List<Method> exportMethods(Class<?> clazz) {
+        List<Method> methods = new ArrayList<>();
+        ReflectionUtils.doWithMethods(
+            clazz,
+            methods::add,
+            method -> Objects.nonNull(AnnotationUtils.findAnnotation(method, ExportConfig.class))
+        );
+
+        return methods;
+    }
+}
@@ -0,0 +1,155 @@
+package com.tellyes.platform.toolkit.utils;
+
+import com.tellyes.core.exception.UtilException;
+import org.apache.poi.util.DefaultTempFileCreationStrategy;
+import org.apache.poi.util.TempFile;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * 导出SXSSFWorkbook生命周期管理
+ * SXSSF临时文件写入独立目录 启动时({@link #start()})或第一次创建workbook时清理目录中遗留的临时文件
+ * 之后由后台线程定期清理 进程异常退出遗留的文件不会一直占用磁盘
+ * 创建的workbook必须通过{@link #dispose(SXSSFWorkbook)}释放临时文件
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:22
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+final class ExportWorkbooks {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportWorkbooks.class);
+    /**
+     * SXSSF临时文件前缀
+     */
+    private static final String TEMP_FILE_PREFIX = "poi-sxssf-";
+    /**
+     * 超过此时间未修改的临时文件视为遗留文件 避免清理其他进程正在使用的文件
+     */
+    private static final long ORPHAN_AGE = TimeUnit.HOURS.toMillis(1);
+    /**
+     * 定期清理间隔
+     */
+    private static final long SWEEP_INTERVAL = TimeUnit.MINUTES.toMillis(30);
+    /**
+     * 后台清理线程
+     */
+    private static final ScheduledExecutorService SWEEPER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "excel-export-sxssf-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * 已初始化的临时目录
+     */
+    private static volatile File initialized;
+
+    static {
+        SWEEPER.scheduleWithFixedDelay(() -> {
+            try {
+                sweep();
+            } catch (Exception e) {
+                LOGGER.error(e.getMessage(), e);
+            }
+        }, SWEEP_INTERVAL, SWEEP_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    private ExportWorkbooks() {
+    }
+
+    /**
+     * 启动时调用 设置临时目录并清理遗留文件 开始定期清理
+     */
+    static void start() {
+        initialize();
+    }
+
+    /**
+     * 创建workbook
+     * @param options 导出选项
+     * @return {@link SXSSFWorkbook}
+     */
+    static SXSSFWorkbook create(ExportOptions options) {
+        initialize();
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, options.getRowAccessWindowSize(), false);
+        workbook.setCompressTempFiles(options.isCompressTempFiles());
+
+        return workbook;
+    }
+
+    /**
+     * 释放workbook临时文件 不抛出异常
+     * @param workbook {@link SXSSFWorkbook} 可为null
+     */
+    static void dispose(SXSSFWorkbook workbook) {
+        if (Objects.isNull(workbook)) {
+            return;
+        }
+        try {
+            if (!workbook.dispose()) {
+                LOGGER.warn("sxssf temp files can not be deleted completely");
+            }
+        } catch (Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 清理临时目录中遗留的SXSSF临时文件
+     * @return 清理的文件数
+     */
+    static int sweep() {
+        File directory = ExportOptions.getTempDirectory();
+        long expired = System.currentTimeMillis() - ORPHAN_AGE;
+        File[] files = Optional.ofNullable(
+            directory.listFiles(file -> file.isFile()
+                && file.getName().startsWith(TEMP_FILE_PREFIX)
+                && file.lastModified() < expired)
+        ).orElse(new File[0]);
+
+        int count = 0;
+        for (File file : files) {
+            if (file.delete()) {
+                count++;
+            } else {
+                LOGGER.warn(String.format("orphan file %s can not be deleted", file.getPath()));
+            }
+        }
+        if (count > 0) {
+            LOGGER.info(String.format("%d orphan sxssf temp files deleted from %s", count, directory.getPath()));
+        }
+
+        return count;
+    }
+
+    /**
+     * 设置POI临时文件目录 目录变更后清理一次遗留文件
+     * POI临时文件策略为全局设置
+     */
+    private static void initialize() {
+        File directory = ExportOptions.getTempDirectory();
+        if (directory.equals(initialized)) {
+            return;
+        }
+
+        synchronized (ExportWorkbooks.class) {
+            if (directory.equals(initialized)) {
+                return;
+            }
+            if (!directory.exists() && !directory.mkdirs() && !directory.exists()) {
+                throw new UtilException(String.format("临时目录%s创建失败", directory.getPath()));
+            }
+            TempFile.setTempFileCreationStrategy(new DefaultTempFileCreationStrategy(directory));
+            sweep();
+            initialized = directory;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.tellyes.platform.toolkit.utils;
 
 import com.tellyes.core.constants.Constants;
-import com.tellyes.core.plugin.sequence.UUIDSequence;
 import com.tellyes.platform.toolkit.freemarker.ExcelDirective;
 import com.tellyes.platform.toolkit.freemarker.ExcelOptionsDirective;
 import com.tellyes.platform.toolkit.freemarker.ExcelStyleDirective;
@@ -14,17 +13,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.tellyes.core.constants.EncodingTypeEnum.UTF_8;
 import static com.tellyes.core.constants.FileTypeEnum.FTL;
-import static com.tellyes.core.constants.FileTypeEnum.XLS;
 import static freemarker.template.Configuration.VERSION_2_3_23;
 
 /**
@@ -35,9 +33,9 @@ import static freemarker.template.Configuration.VERSION_2_3_23;
  */
 public interface FreemarkerExportExcelUtil {
     /**
-     * 缓存模版
+     * 缓存模版 并发导出及启动预热时同时访问
      */
-    Map<String, Template> TEMPLATES = new HashMap<>(8);
+    Map<String, Template> TEMPLATES = new ConcurrentHashMap<>(8);
     Logger LOGGER = LoggerFactory.getLogger(FreemarkerExportExcelUtil.class);
 
     /**
@@ -47,22 +45,46 @@ public interface FreemarkerExportExcelUtil {
      * @return 保存后的文件名
      */
     static String save(String fileName, Object params) {
+        return save(FreemarkerExportExcelUtil.getTemplate(), fileName, params);
+    }
+
+    /**
+     * 使用指定业务方法的模版保存excel 不查找方法栈
+     * @param clazz      业务类
+     * @param methodName 业务方法名
+     * @param fileName   文件名
+     * @param params     参数
+     * @return 保存后的文件名
+     */
+    static String save(Class<?> clazz, String methodName, String fileName, Object params) {
+        return save(FreemarkerExportExcelUtil.getTemplate(clazz, methodName), fileName, params);
+    }
+
+    /**
+     * 使用模版保存excel
+     * @param template 模版
+     * @param fileName 文件名
+     * @param params   参数
+     * @return 保存后的文件名
+     */
+    static String save(Template template, String fileName, Object params) {
         Map<String, Object> root = new HashMap<>(8);
         root.put("params", params);
-        String tempFileName = String.format("%s_%s", fileName, UUIDSequence.syncUuid());
+        String tempFileName = ExportExcelUtil.tempFileName(fileName);
 
-        try {
-            File file = new File(ExportExcelUtil.getFileFullPath(tempFileName + XLS.suffix()));
-            FreemarkerExportExcelUtil.getTemplate().process(
-                // 传递的参数
-                root,
+        // 写入导出文件存储 与ExportExcelUtil保存的文件统一淘汰
+        ExportExcelUtil.write(ExportExcelUtil.tempFile(tempFileName), out -> {
+            try {
                 // 指定文件编码
-                new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), UTF_8.getType()))
-            );
-        } catch (TemplateException | IOException e) {
-            LOGGER.error(e.getMessage(), e);
-            throw ExceptionUtil.UTIL_EXCEPTION_FUNCTION.apply(e);
-        }
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8.getType()));
+                // 传递的参数
+                template.process(root, writer);
+                writer.flush();
+            } catch (TemplateException | IOException e) {
+                LOGGER.error(e.getMessage(), e);
+                throw ExceptionUtil.UTIL_EXCEPTION_FUNCTION.apply(e);
+            }
+        });
 
         return tempFileName;
     }
@@ -81,42 +103,46 @@ public interface FreemarkerExportExcelUtil {
      * @return {@link Template}
      */
     static Template getTemplate() {
-        StackTraceElement ftlStackTraceElement = ExcelConfigUtil.getFtlStackTraceElement();
-        try {
-            Class<?> clazz = Class.forName(ftlStackTraceElement.getClassName());
-            String cacheKey = clazz.getName() + Constants.POINT + ftlStackTraceElement.getMethodName() + FTL.suffix();
-
-            return
-                // 若缓存中存在 直接返回
-                Optional.ofNullable(TEMPLATES.get(cacheKey))
-                    // 否则将模版加入缓存
-                    .orElseGet(() -> {
-                        Configuration conf = new Configuration(VERSION_2_3_23);
-                        conf.setClassForTemplateLoading(clazz, "");
-                        conf.setDefaultEncoding(UTF_8.getType());
-                        try {
-                            conf.setSharedVaribles(FreemarkerExportExcelUtil.getDirectives());
-                        } catch (TemplateModelException e) {
-                            LOGGER.error(e.getMessage(), e);
-                        }
-                        Template template = null;
-                        try {
-                            // 模版名称
-                            String templateName = clazz.getSimpleName() + Constants.POINT +
-                                ftlStackTraceElement.getMethodName() + FTL.suffix();
-                            // 获得指定编码的模版
-                            template = conf.getTemplate(templateName, UTF_8.getType());
-                            TEMPLATES.put(cacheKey, template);
-                        } catch (IOException e) {
-                            LOGGER.error(e.getMessage(), e);
-                        }
-
-                        return template;
-                    });
-        } catch (ClassNotFoundException e) {
-            LOGGER.error(e.getMessage(), e);
-            throw ExceptionUtil.UTIL_EXCEPTION_FUNCTION.apply(e);
-        }
+        ExportConfigCallers.Caller caller = ExcelConfigUtil.getFtlCaller();
+
+        return getTemplate(caller.getType(), caller.getMethodName());
+    }
+
+    /**
+     * 获得指定业务方法的freemarker模版 不查找方法栈
+     * @param clazz      业务类
+     * @param methodName 业务方法名
+     * @return {@link Template}
+     */
+    static Template getTemplate(Class<?> clazz, String methodName) {
+        String cacheKey = clazz.getName() + Constants.POINT + methodName + FTL.suffix();
+
+        return
+            // 若缓存中存在 直接返回
+            Optional.ofNullable(TEMPLATES.get(cacheKey))
+                // 否则将模版加入缓存
+                .orElseGet(() -> {
+                    Configuration conf = new Configuration(VERSION_2_3_23);
+                    conf.setClassForTemplateLoading(clazz, "");
+                    conf.setDefaultEncoding(UTF_8.getType());
+                    try {
+                        conf.setSharedVaribles(FreemarkerExportExcelUtil.getDirectives());
+                    } catch (TemplateModelException e) {
+                        LOGGER.error(e.getMessage(), e);
+                    }
+                    Template template = null;
+                    try {
+                        // 模版名称
+                        String templateName = clazz.getSimpleName() + Constants.POINT + methodName + FTL.suffix();
+                        // 获得指定编码的模版
+                        template = conf.getTemplate(templateName, UTF_8.getType());
+                        TEMPLATES.put(cacheKey, template);
+                    } catch (IOException e) {
+                        LOGGER.error(e.getMessage(), e);
+                    }
+
+                    return template;
+                });
     }
 
     /**
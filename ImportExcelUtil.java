@@ -1,19 +1,26 @@
 package com.tellyes.platform.toolkit.utils;
 
-import com.tellyes.common.utils.DateUtil;
-import org.apache.poi.hssf.usermodel.HSSFDateUtil;
-import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
+import com.tellyes.common.utils.CollectionUtil;
+import com.tellyes.core.exception.UtilException;
 
 import java.io.File;
-import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Excel导入工具类
@@ -23,7 +30,7 @@ import java.util.Optional;
  */
 public interface ImportExcelUtil {
     /**
-     * 解析excel文件第一个sheet 从头第一行数据开始解析到实体
+     * 解析excel文件第一个sheet 从头第一行数据开始解析到实体 加载整个workbook({@link Mode#USER_MODEL})
      * @param file  excel文件
      * @param clazz 实体Class
      * @param <T>   实体类型
@@ -35,7 +42,7 @@ public interface ImportExcelUtil {
     }
 
     /**
-     * 解析excel文件第一个sheet 从给定行开始解析到实体
+     * 解析excel文件第一个sheet 从给定行开始解析到实体 加载整个workbook({@link Mode#USER_MODEL})
      * @param startRow 解析开始行数
      * @param file     excel文件
      * @param clazz    实体Class
@@ -48,7 +55,56 @@ public interface ImportExcelUtil {
     }
 
     /**
-     * 解析excel文件给定的sheet 从给定行开始解析到实体
+     * 按给定模式解析excel文件第一个sheet 从第二行开始解析到实体
+     * @param file  excel文件
+     * @param clazz 实体Class
+     * @param mode  导入模式
+     * @param <T>   实体类型
+     * @return {@link List}
+     */
+    static <T> List<T> parse(File file, Class<T> clazz, Mode mode) {
+        return parse(0, 1, file, clazz, mode);
+    }
+
+    /**
+     * <pre>
+     * 流式解析({@link Mode#STREAMING})上传的excel第一个sheet 从第二行开始解析到实体
+     * 直接读取流 无需先写入临时文件
+     * </pre>
+     * @param inputStream excel流 如MultipartFile.getInputStream()
+     * @param clazz       实体Class
+     * @param <T>         实体类型
+     * @return {@link List}
+     */
+    static <T> List<T> parse(InputStream inputStream, Class<T> clazz) {
+        return parse(0, 1, ExcelSource.of(inputStream), clazz, Mode.STREAMING);
+    }
+
+    /**
+     * 流式解析({@link Mode#STREAMING})excel文件第一个sheet 从第二行开始解析到实体 文件以随机访问方式读取
+     * @param path  excel文件路径
+     * @param clazz 实体Class
+     * @param <T>   实体类型
+     * @return {@link List}
+     */
+    static <T> List<T> parse(Path path, Class<T> clazz) {
+        return parse(0, 1, ExcelSource.of(path), clazz, Mode.STREAMING);
+    }
+
+    /**
+     * 流式解析({@link Mode#STREAMING})数据源第一个sheet 从第二行开始解析到实体
+     * @param source excel数据源 支持文件、路径、流、字节数组、{@link java.nio.ByteBuffer}
+     * @param clazz  实体Class
+     * @param <T>    实体类型
+     * @return {@link List}
+     */
+    static <T> List<T> parse(ExcelSource source, Class<T> clazz) {
+        return parse(0, 1, source, clazz, Mode.STREAMING);
+    }
+
+    /**
+     * 解析excel文件给定的sheet 从给定行开始解析到实体 加载整个workbook({@link Mode#USER_MODEL})
+     * 兼容原有行为 大文件建议使用{@link Mode#STREAMING}
      * @param sheetIndex sheet索引
      * @param startRow   解析开始行数
      * @param file       excel文件
@@ -57,57 +113,582 @@ public interface ImportExcelUtil {
      * @return {@link List}
      */
     static <T> List<T> parse(int sheetIndex, int startRow, File file, Class<T> clazz) {
-        Objects.requireNonNull(file);
+        // 默认加载整个workbook解析
+        return parse(sheetIndex, startRow, file, clazz, Mode.USER_MODEL);
+    }
+
+    /**
+     * 按给定模式解析excel文件给定的sheet 从给定行开始解析到实体
+     * @param sheetIndex sheet索引
+     * @param startRow   解析开始行数
+     * @param file       excel文件
+     * @param clazz      实体Class
+     * @param mode       导入模式
+     * @param <T>        实体类型
+     * @return {@link List}
+     */
+    static <T> List<T> parse(int sheetIndex, int startRow, File file, Class<T> clazz, Mode mode) {
+        return parse(sheetIndex, startRow, ExcelSource.of(file), clazz, mode);
+    }
+
+    /**
+     * 按给定模式解析excel文件给定的sheet 从给定行开始解析到实体
+     * @param sheetIndex sheet索引
+     * @param startRow   解析开始行数
+     * @param source     excel数据源
+     * @param clazz      实体Class
+     * @param mode       导入模式
+     * @param <T>        实体类型
+     * @return {@link List}
+     */
+    static <T> List<T> parse(int sheetIndex, int startRow, ExcelSource source, Class<T> clazz, Mode mode) {
+        Objects.requireNonNull(source);
         Objects.requireNonNull(clazz);
+        Objects.requireNonNull(mode);
 
         List<T> list = new ArrayList<>();
         if (sheetIndex < 0 || startRow < 0) {
             return list;
         }
 
+        // 实体映射计划
+        ImportRowPlan<T> plan = ImportRowPlan.of(clazz);
+        if (plan.isEmpty()) {
+            return list;
+        }
+
+        SheetReader.of(mode, source, sheetIndex, startRow, plan)
+            .read((rowNum, cells) -> list.add(plan.toBean(cells)));
+
+        return list;
+    }
+
+    /**
+     * 流式解析({@link Mode#STREAMING})excel文件第一个sheet 从第二行开始按批次回调实体
+     * @param file      excel文件
+     * @param clazz     实体Class
+     * @param batchSize 批次大小
+     * @param consumer  批次回调
+     * @param <T>       实体类型
+     */
+    static <T> void forEachBatch(File file, Class<T> clazz, int batchSize, Consumer<List<T>> consumer) {
+        forEachBatch(0, 1, file, clazz, Mode.STREAMING, batchSize, consumer);
+    }
+
+    /**
+     * <pre>
+     * 解析excel文件给定的sheet 从给定行开始按批次回调实体
+     * 每批实体回调后即可释放 内存占用只与批次大小有关
+     * </pre>
+     * @param sheetIndex sheet索引
+     * @param startRow   解析开始行数
+     * @param file       excel文件
+     * @param clazz      实体Class
+     * @param mode       导入模式
+     * @param batchSize  批次大小
+     * @param consumer   批次回调
+     * @param <T>        实体类型
+     */
+    static <T> void forEachBatch(int sheetIndex, int startRow, File file, Class<T> clazz, Mode mode, int batchSize,
+                                 Consumer<List<T>> consumer) {
+        forEachBatch(sheetIndex, startRow, ExcelSource.of(file), clazz, mode, batchSize, consumer);
+    }
+
+    /**
+     * <pre>
+     * 解析excel文件给定的sheet 从给定行开始按批次回调实体
+     * 每批实体回调后即可释放 内存占用只与批次大小有关
+     * </pre>
+     * @param sheetIndex sheet索引
+     * @param startRow   解析开始行数
+     * @param source     excel数据源
+     * @param clazz      实体Class
+     * @param mode       导入模式
+     * @param batchSize  批次大小
+     * @param consumer   批次回调
+     * @param <T>        实体类型
+     */
+    static <T> void forEachBatch(int sheetIndex, int startRow, ExcelSource source, Class<T> clazz, Mode mode,
+                                 int batchSize, Consumer<List<T>> consumer) {
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(clazz);
+        Objects.requireNonNull(mode);
+        Objects.requireNonNull(consumer);
+        if (batchSize <= 0) {
+            throw new UtilException("批次大小必须大于0");
+        }
+
+        ImportRowPlan<T> plan = ImportRowPlan.of(clazz);
+        if (sheetIndex < 0 || startRow < 0 || plan.isEmpty()) {
+            return;
+        }
+
+        AtomicReference<List<T>> batch = new AtomicReference<>(new ArrayList<>(batchSize));
+        SheetReader.of(mode, source, sheetIndex, startRow, plan)
+            .read((rowNum, cells) -> {
+                batch.get().add(plan.toBean(cells));
+                // 批次已满 回调后开始新的批次
+                if (batch.get().size() >= batchSize) {
+                    consumer.accept(batch.getAndSet(new ArrayList<>(batchSize)));
+                }
+
+                return true;
+            });
+
+        // 最后不足一个批次的数据
+        Optional.of(batch.get())
+            .filter(CollectionUtil::isNotEmpty)
+            .ifPresent(consumer);
+    }
+
+    /**
+     * <pre>
+     * 流水线解析excel文件给定的sheet 从给定行开始按批次回调实体
+     * 调用线程流式读取行数据 线程池并行将行数据映射为实体
+     * </pre>
+     * @param sheetIndex sheet索引
+     * @param startRow   解析开始行数
+     * @param file       excel文件
+     * @param clazz      实体Class
+     * @param batchSize  批次大小
+     * @param executor   映射实体的线程池
+     * @param ordered    是否按行顺序回调批次
+     * @param consumer   批次回调 在调用线程中执行
+     * @param <T>        实体类型
+     */
+    static <T> void forEachBatch(int sheetIndex, int startRow, File file, Class<T> clazz, int batchSize,
+                                 Executor executor, boolean ordered, Consumer<List<T>> consumer) {
+        forEachBatch(sheetIndex, startRow, file, clazz, batchSize, executor, ordered, t -> {
+        }, consumer);
+    }
+
+    /**
+     * <pre>
+     * 流水线解析excel文件给定的sheet 从给定行开始按批次回调实体
+     * 调用线程流式读取行数据 线程池并行将行数据映射为实体并执行{@code processor}(如校验)
+     * 在途批次有上限 映射跟不上读取时读取线程等待
+     * </pre>
+     * @param sheetIndex sheet索引
+     * @param startRow   解析开始行数
+     * @param file       excel文件
+     * @param clazz      实体Class
+     * @param batchSize  批次大小
+     * @param executor   映射实体的线程池
+     * @param ordered    是否按行顺序回调批次
+     * @param processor  实体处理 在线程池中执行
+     * @param consumer   批次回调 在调用线程中执行
+     * @param <T>        实体类型
+     */
+    static <T> void forEachBatch(int sheetIndex, int startRow, File file, Class<T> clazz, int batchSize,
+                                 Executor executor, boolean ordered, Consumer<? super T> processor,
+                                 Consumer<List<T>> consumer) {
+        forEachBatch(
+            sheetIndex, startRow, ExcelSource.of(file), clazz, batchSize, executor, ordered, processor, consumer
+        );
+    }
+
+    /**
+     * <pre>
+     * 流水线解析excel文件给定的sheet 从给定行开始按批次回调实体
+     * 调用线程流式读取行数据 线程池并行将行数据映射为实体并执行{@code processor}(如校验)
+     * 在途批次有上限 映射跟不上读取时读取线程等待
+     * </pre>
+     * @param sheetIndex sheet索引
+     * @param startRow   解析开始行数
+     * @param source     excel数据源
+     * @param clazz      实体Class
+     * @param batchSize  批次大小
+     * @param executor   映射实体的线程池
+     * @param ordered    是否按行顺序回调批次
+     * @param processor  实体处理 在线程池中执行
+     * @param consumer   批次回调 在调用线程中执行
+     * @param <T>        实体类型
+     */
+    static <T> void forEachBatch(int sheetIndex, int startRow, ExcelSource source, Class<T> clazz, int batchSize,
+                                 Executor executor, boolean ordered, Consumer<? super T> processor,
+                                 Consumer<List<T>> consumer) {
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(clazz);
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(processor);
+        Objects.requireNonNull(consumer);
+        if (batchSize <= 0) {
+            throw new UtilException("批次大小必须大于0");
+        }
+
+        ImportRowPlan<T> plan = ImportRowPlan.of(clazz);
+        if (sheetIndex < 0 || startRow < 0 || plan.isEmpty()) {
+            return;
+        }
+
+        ChunkPipeline<Object[], T> pipeline = new ChunkPipeline<>(
+            executor,
+            batchSize,
+            ChunkPipeline.DEFAULT_MAX_IN_FLIGHT,
+            ordered,
+            rows -> {
+                List<T> beans = new ArrayList<>(rows.size());
+                rows.forEach(cells -> {
+                    T bean = plan.toBean(cells);
+                    processor.accept(bean);
+                    beans.add(bean);
+                });
+
+                return beans;
+            },
+            consumer
+        );
         try {
-            Workbook workbook = WorkbookFactory.create(file);
-            Sheet sheet = workbook.getSheetAt(sheetIndex);
-            if (sheet.getPhysicalNumberOfRows() < startRow) {
-                return list;
-            }
-
-            Optional.of(ExcelUtil.getExportFields(clazz))
-                .filter(map -> map.size() > 0)
-                .ifPresent(map ->
-                    sheet.forEach(row -> {
-                        if (row.getRowNum() < startRow) {
-                            return;
-                        }
-                        try {
-                            T o = clazz.newInstance();
-                            row.forEach(col ->
-                                Optional.ofNullable(map.get(col.getColumnIndex()))
-                                    // 过滤单元格为空的情况
-                                    .filter(field -> col.getCellType() != Cell.CELL_TYPE_BLANK)
-                                    .ifPresent(field -> {
-                                        // 将时间类型转为字符串
-                                        if (col.getCellType() == Cell.CELL_TYPE_NUMERIC &&
-                                            HSSFDateUtil.isCellDateFormatted(col)) {
-                                            col.setCellValue(DateUtil.datetimeToString(col.getDateCellValue()));
-                                        }
-
-                                        // 单元格强制设置为字符串类型
-                                        col.setCellType(Cell.CELL_TYPE_STRING);
-                                        ExcelUtil.setFieldValue(o, field, col.getStringCellValue());
-                                    })
-                            );
-                            list.add(o);
-                        } catch (InstantiationException | IllegalAccessException e) {
-                            throw ExceptionUtil.UTIL_EXCEPTION_FUNCTION.apply(e);
-                        }
-                    })
-                );
+            SheetReader.of(Mode.STREAMING, source, sheetIndex, startRow, plan)
+                .read((rowNum, cells) -> {
+                    pipeline.add(cells);
 
+                    return true;
+                });
+            pipeline.finish();
+        } catch (RuntimeException e) {
+            pipeline.cancel();
+            throw e;
+        }
+    }
 
-            return list;
-        } catch (IOException | InvalidFormatException e) {
-            throw ExceptionUtil.UTIL_EXCEPTION_FUNCTION.apply(e);
+    /**
+     * 流式解析({@link Mode#STREAMING})excel文件第一个sheet 从第二行开始逐个返回实体
+     * @param file  excel文件
+     * @param clazz 实体Class
+     * @param <T>   实体类型
+     * @return {@link Stream} 使用完毕需关闭
+     */
+    static <T> Stream<T> stream(File file, Class<T> clazz) {
+        return stream(0, 1, file, clazz, Mode.STREAMING);
+    }
+
+    /**
+     * 解析excel文件给定的sheet 从给定行开始逐个返回实体
+     * @param sheetIndex sheet索引
+     * @param startRow   解析开始行数
+     * @param file       excel文件
+     * @param clazz      实体Class
+     * @param mode       导入模式
+     * @param <T>        实体类型
+     * @return {@link Stream} 使用完毕需关闭 提前关闭将停止读取
+     */
+    static <T> Stream<T> stream(int sheetIndex, int startRow, File file, Class<T> clazz, Mode mode) {
+        return stream(sheetIndex, startRow, ExcelSource.of(file), clazz, mode);
+    }
+
+    /**
+     * 解析excel文件给定的sheet 从给定行开始逐个返回实体
+     * @param sheetIndex sheet索引
+     * @param startRow   解析开始行数
+     * @param source     excel数据源
+     * @param clazz      实体Class
+     * @param mode       导入模式
+     * @param <T>        实体类型
+     * @return {@link Stream} 使用完毕需关闭 提前关闭将停止读取
+     */
+    static <T> Stream<T> stream(int sheetIndex, int startRow, ExcelSource source, Class<T> clazz, Mode mode) {
+        RowIterator<T> iterator = iterator(sheetIndex, startRow, source, clazz, mode);
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+            .onClose(iterator::close);
+    }
+
+    /**
+     * <pre>
+     * 解析excel文件给定的sheet 从给定行开始逐个返回实体
+     * 由独立线程读取 通过有界队列交付 读取速度受消费速度约束
+     * </pre>
+     * @param sheetIndex sheet索引
+     * @param startRow   解析开始行数
+     * @param file       excel文件
+     * @param clazz      实体Class
+     * @param mode       导入模式
+     * @param <T>        实体类型
+     * @return {@link RowIterator} 使用完毕需关闭 提前关闭将停止读取
+     */
+    static <T> RowIterator<T> iterator(int sheetIndex, int startRow, File file, Class<T> clazz, Mode mode) {
+        return iterator(sheetIndex, startRow, ExcelSource.of(file), clazz, mode);
+    }
+
+    /**
+     * <pre>
+     * 解析excel文件给定的sheet 从给定行开始逐个返回实体
+     * 由独立线程读取 通过有界队列交付 读取速度受消费速度约束
+     * </pre>
+     * @param sheetIndex sheet索引
+     * @param startRow   解析开始行数
+     * @param source     excel数据源
+     * @param clazz      实体Class
+     * @param mode       导入模式
+     * @param <T>        实体类型
+     * @return {@link RowIterator} 使用完毕需关闭 提前关闭将停止读取
+     */
+    static <T> RowIterator<T> iterator(int sheetIndex, int startRow, ExcelSource source, Class<T> clazz, Mode mode) {
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(clazz);
+        Objects.requireNonNull(mode);
+
+        ImportRowPlan<T> plan = ImportRowPlan.of(clazz);
+        if (sheetIndex < 0 || startRow < 0 || plan.isEmpty()) {
+            return ImportRowIterator.empty();
+        }
+
+        return ImportRowIterator.start(SheetReader.of(mode, source, sheetIndex, startRow, plan), plan);
+    }
+
+    /**
+     * 流式预览({@link Mode#STREAMING})excel文件第一个sheet 从第二行开始读取前{@code limit}行
+     * @param file  excel文件
+     * @param clazz 实体Class
+     * @param limit 预览行数
+     * @param <T>   实体类型
+     * @return {@link Preview}
+     */
+    static <T> Preview<T> preview(File file, Class<T> clazz, int limit) {
+        return preview(0, 1, ExcelSource.of(file), clazz, limit);
+    }
+
+    /**
+     * 流式预览({@link Mode#STREAMING})数据源第一个sheet 从第二行开始读取前{@code limit}行
+     * @param source excel数据源
+     * @param clazz  实体Class
+     * @param limit  预览行数
+     * @param <T>    实体类型
+     * @return {@link Preview}
+     */
+    static <T> Preview<T> preview(ExcelSource source, Class<T> clazz, int limit) {
+        return preview(0, 1, source, clazz, limit);
+    }
+
+    /**
+     * <pre>
+     * 预览数据源给定的sheet 从给定行开始读取前{@code limit}行
+     * 读满后立即停止读取 耗时与文件大小无关
+     * 总行数根据sheet声明的范围估算
+     * </pre>
+     * @param sheetIndex sheet索引
+     * @param startRow   解析开始行数
+     * @param source     excel数据源
+     * @param clazz      实体Class
+     * @param limit      预览行数
+     * @param <T>        实体类型
+     * @return {@link Preview}
+     */
+    static <T> Preview<T> preview(int sheetIndex, int startRow, ExcelSource source, Class<T> clazz, int limit) {
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(clazz);
+
+        List<T> rows = new ArrayList<>(Math.max(limit, 0));
+        ImportRowPlan<T> plan = ImportRowPlan.of(clazz);
+        if (sheetIndex < 0 || startRow < 0 || limit <= 0 || plan.isEmpty()) {
+            return new Preview<>(rows, -1);
+        }
+
+        AtomicInteger lastRowNum = new AtomicInteger(-1);
+        SheetReader.of(Mode.STREAMING, source, sheetIndex, startRow, plan)
+            .read(new SheetReader.RowVisitor() {
+                @Override
+                public boolean visit(int rowNum, Object[] cells) {
+                    rows.add(plan.toBean(cells));
+
+                    return rows.size() < limit;
+                }
+
+                @Override
+                public void dimension(int last) {
+                    lastRowNum.set(last);
+                }
+            });
+
+        return new Preview<>(
+            rows,
+            lastRowNum.get() < 0 ? -1 : Math.max(lastRowNum.get() - startRow + 1, rows.size())
+        );
+    }
+
+    /**
+     * 使用公共ForkJoinPool并行解析多个sheet/文件
+     * @param sheets 待解析的sheet
+     * @return 按传入顺序排列的解析结果 通过{@link ImportSheet#from(Map)}获得对应的实体列表
+     */
+    static Map<ImportSheet<?>, List<?>> parseAll(List<ImportSheet<?>> sheets) {
+        return parseAll(sheets, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * <pre>
+     * 使用给定线程池并行解析多个sheet/文件 每个sheet可映射不同的实体
+     * 如{@link java.util.concurrent.ForkJoinPool}或threadPoolTaskExecutor
+     * {@link Mode#USER_MODEL}的sheet按文件分组 同一文件只加载一次workbook 组内sheet依次解析
+     * 任一sheet失败时 未开始的解析被取消 正在解析的sheet在读取下一行时停止
+     * </pre>
+     * @param sheets   待解析的sheet
+     * @param executor 线程池
+     * @return 按传入顺序排列的解析结果 通过{@link ImportSheet#from(Map)}获得对应的实体列表
+     */
+    static Map<ImportSheet<?>, List<?>> parseAll(List<ImportSheet<?>> sheets, Executor executor) {
+        Objects.requireNonNull(sheets);
+        Objects.requireNonNull(executor);
+
+        return ImportSheets.parseAll(sheets, executor);
+    }
+
+    /**
+     * 可关闭的实体迭代器
+     * @param <T> 实体类型
+     */
+    interface RowIterator<T> extends Iterator<T>, AutoCloseable {
+        /**
+         * 关闭迭代器 停止读取
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * <pre>
+     * 导入模式 两种模式跳过空行并按单元格类型返回相同类型的值
+     * 未指定模式时 原有的parse(File)系列为{@link #USER_MODEL} 其余入口为{@link #STREAMING} 以各方法文档为准
+     * </pre>
+     */
+    enum Mode {
+        /**
+         * 通过{@link org.apache.poi.ss.usermodel.WorkbookFactory}加载整个workbook
+         */
+        USER_MODEL,
+        /**
+         * 通过事件模型流式解析 根据文件头自动选择xls或xlsx 内存占用与文件大小无关
+         */
+        STREAMING
+    }
+
+    /**
+     * 并行导入的sheet描述
+     * @param <T> 实体类型
+     */
+    final class ImportSheet<T> {
+        private final int sheetIndex;
+        private final int startRow;
+        private final ExcelSource source;
+        private final Class<T> clazz;
+        private final Mode mode;
+
+        private ImportSheet(int sheetIndex, int startRow, ExcelSource source, Class<T> clazz, Mode mode) {
+            this.sheetIndex = sheetIndex;
+            this.startRow = startRow;
+            this.source = Objects.requireNonNull(source);
+            this.clazz = Objects.requireNonNull(clazz);
+            this.mode = Objects.requireNonNull(mode);
+        }
+
+        /**
+         * 文件第一个sheet 从第二行开始流式解析
+         * @param file  excel文件
+         * @param clazz 实体Class
+         * @param <T>   实体类型
+         * @return {@link ImportSheet}
+         */
+        public static <T> ImportSheet<T> of(File file, Class<T> clazz) {
+            return of(0, 1, file, clazz, Mode.STREAMING);
+        }
+
+        /**
+         * 文件给定sheet 从给定行开始解析
+         * @param sheetIndex sheet索引
+         * @param startRow   解析开始行数
+         * @param file       excel文件
+         * @param clazz      实体Class
+         * @param mode       导入模式
+         * @param <T>        实体类型
+         * @return {@link ImportSheet}
+         */
+        public static <T> ImportSheet<T> of(int sheetIndex, int startRow, File file, Class<T> clazz, Mode mode) {
+            return of(sheetIndex, startRow, ExcelSource.of(file), clazz, mode);
+        }
+
+        /**
+         * 数据源给定sheet 从给定行开始解析 流数据源只能解析一次
+         * @param sheetIndex sheet索引
+         * @param startRow   解析开始行数
+         * @param source     excel数据源
+         * @param clazz      实体Class
+         * @param mode       导入模式
+         * @param <T>        实体类型
+         * @return {@link ImportSheet}
+         */
+        public static <T> ImportSheet<T> of(int sheetIndex, int startRow, ExcelSource source, Class<T> clazz,
+                                            Mode mode) {
+            return new ImportSheet<>(sheetIndex, startRow, source, clazz, mode);
+        }
+
+        /**
+         * 从并行解析结果中获得当前sheet的实体列表
+         * @param results {@link ImportExcelUtil#parseAll(List, Executor)}的结果
+         * @return {@link List}
+         */
+        @SuppressWarnings("unchecked")
+        public List<T> from(Map<ImportSheet<?>, List<?>> results) {
+            return (List<T>) results.get(this);
+        }
+
+        public int getSheetIndex() {
+            return this.sheetIndex;
+        }
+
+        public int getStartRow() {
+            return this.startRow;
+        }
+
+        public ExcelSource getSource() {
+            return this.source;
+        }
+
+        public Class<T> getClazz() {
+            return this.clazz;
+        }
+
+        public Mode getMode() {
+            return this.mode;
+        }
+
+        @Override
+        public String toString() {
+            return "ImportSheet{" +
+                "source=" + this.source +
+                ", sheetIndex=" + this.sheetIndex +
+                ", clazz=" + this.clazz.getName() +
+                '}';
+        }
+    }
+
+    /**
+     * 导入预览结果
+     * @param <T> 实体类型
+     */
+    final class Preview<T> {
+        private final List<T> rows;
+        private final int estimatedRows;
+
+        Preview(List<T> rows, int estimatedRows) {
+            this.rows = rows;
+            this.estimatedRows = estimatedRows;
+        }
+
+        /**
+         * 预览的实体
+         * @return {@link List}
+         */
+        public List<T> getRows() {
+            return this.rows;
+        }
+
+        /**
+         * 估算的数据总行数(不含开始行之前的行)
+         * @return 总行数 无法估算时为-1
+         */
+        public int getEstimatedRows() {
+            return this.estimatedRows;
         }
     }
 }
@@ -0,0 +1,238 @@
+package com.tellyes.platform.toolkit.utils;
+
+import com.tellyes.platform.toolkit.annotation.ColumnIndex;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * <pre>
+ * 导入模式一致性
+ * 同一文件{@link ImportExcelUtil.Mode#STREAMING}与原有{@link ImportExcelUtil#parse(File, Class)}的解析结果相同
+ * 覆盖文本、数字、布尔、日期、公式缓存结果、空行及缺失单元格 xls与xlsx各一份
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:57
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+public class ImportModeParityTest {
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("import-parity").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = this.directory.listFiles();
+        if (Objects.nonNull(files)) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        this.directory.delete();
+    }
+
+    @Test
+    public void xlsxStreamingMatchesUserModel() throws IOException {
+        this.assertParity(this.write(new XSSFWorkbook(), "parity.xlsx"));
+    }
+
+    @Test
+    public void xlsStreamingMatchesUserModel() throws IOException {
+        this.assertParity(this.write(new HSSFWorkbook(), "parity.xls"));
+    }
+
+    /**
+     * 两种模式解析结果一致
+     * @param file excel文件
+     */
+    private void assertParity(File file) {
+        List<Item> expected = ImportExcelUtil.parse(file, Item.class);
+        List<Item> actual = ImportExcelUtil.parse(file, Item.class, ImportExcelUtil.Mode.STREAMING);
+
+        // 表头及空行不解析
+        assertEquals(5, expected.size());
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * 写入测试文件
+     * @param workbook 空workbook
+     * @param name     文件名
+     * @return 文件
+     * @throws IOException IOException
+     */
+    private File write(Workbook workbook, String name) throws IOException {
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2020, Calendar.FEBRUARY, 29);
+        Date date = calendar.getTime();
+
+        Sheet sheet = workbook.createSheet("data");
+        Row header = sheet.createRow(0);
+        String[] names = {"name", "count", "amount", "enabled", "date", "label"};
+        for (int i = 0; i < names.length; i++) {
+            header.createCell(i).setCellValue(names[i]);
+        }
+
+        Row row = sheet.createRow(1);
+        row.createCell(0).setCellValue("alpha");
+        row.createCell(1).setCellValue(3);
+        row.createCell(2).setCellValue(12.5);
+        row.createCell(3).setCellValue(true);
+        Cell dateCell = row.createCell(4);
+        dateCell.setCellValue(date);
+        dateCell.setCellStyle(dateStyle);
+        row.createCell(5).setCellValue("plain");
+
+        // 公式单元格 读取缓存结果
+        row = sheet.createRow(2);
+        row.createCell(0).setCellFormula("\"be\"&\"ta\"");
+        row.createCell(1).setCellFormula("1+2");
+        row.createCell(2).setCellFormula("B3*1.5");
+        row.createCell(3).setCellFormula("1>2");
+
+        // 缺失单元格
+        row = sheet.createRow(3);
+        row.createCell(0).setCellValue("gamma");
+        row.createCell(5).setCellValue(7);
+
+        // 空行跳过
+        sheet.createRow(4);
+
+        // 数字写入文本属性
+        row = sheet.createRow(5);
+        row.createCell(0).setCellValue(42);
+        row.createCell(3).setCellValue("FALSE");
+
+        row = sheet.createRow(6);
+        row.createCell(0).setCellValue("last");
+
+        workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+        File file = new File(this.directory, name);
+        try (OutputStream out = new FileOutputStream(file)) {
+            workbook.write(out);
+        } finally {
+            workbook.close();
+        }
+
+        return file;
+    }
+
+    /**
+     * 导入实体
+     */
+    public static class Item {
+        @ColumnIndex(0)
+        private String name;
+        @ColumnIndex(1)
+        private Integer count;
+        @ColumnIndex(2)
+        private Double amount;
+        @ColumnIndex(3)
+        private Boolean enabled;
+        @ColumnIndex(4)
+        private Date date;
+        @ColumnIndex(5)
+        private String label;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getCount() {
+            return count;
+        }
+
+        public void setCount(Integer count) {
+            this.count = count;
+        }
+
+        public Double getAmount() {
+            return amount;
+        }
+
+        public void setAmount(Double amount) {
+            this.amount = amount;
+        }
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Date getDate() {
+            return date;
+        }
+
+        public void setDate(Date date) {
+            this.date = date;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Item)) {
+                return false;
+            }
+            Item item = (Item) o;
+
+            return Objects.equals(name, item.name)
+                && Objects.equals(count, item.count)
+                && Objects.equals(amount, item.amount)
+                && Objects.equals(enabled, item.enabled)
+                && Objects.equals(date, item.date)
+                && Objects.equals(label, item.label);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, count, amount, enabled, date, label);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s|%s|%s|%s|%s|%s", name, count, amount, enabled, date, label);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.tellyes.platform.toolkit.utils;
+
+import com.tellyes.core.exception.UtilException;
+
+import java.lang.ref.WeakReference;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * 基于有界队列的导入迭代器
+ * 读取线程解析行并映射为实体放入队列 队列满时读取线程阻塞 内存占用与文件大小无关
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:12
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ * @param <T> 实体类型
+ */
+final class ImportRowIterator<T> implements ImportExcelUtil.RowIterator<T> {
+    /**
+     * 队列容量
+     */
+    private static final int CAPACITY = 1024;
+    /**
+     * 读取结束标记
+     */
+    private static final Object END = new Object();
+    /**
+     * 入队等待时间 用于检查迭代器是否已关闭或已被回收
+     */
+    private static final long OFFER_TIMEOUT_MILLIS = 100L;
+
+    /**
+     * 与读取线程共享的缓冲 读取线程不直接引用迭代器
+     */
+    private final Buffer buffer = new Buffer();
+    /**
+     * 预读的下一个元素
+     */
+    private Object next;
+    private boolean finished;
+
+    private ImportRowIterator() {
+    }
+
+    /**
+     * 没有数据的迭代器
+     * @param <T> 实体类型
+     * @return {@link ImportRowIterator}
+     */
+    static <T> ImportRowIterator<T> empty() {
+        ImportRowIterator<T> iterator = new ImportRowIterator<>();
+        iterator.finished = true;
+
+        return iterator;
+    }
+
+    /**
+     * <pre>
+     * 启动读取线程并返回迭代器
+     * 读取线程只持有迭代器的弱引用 调用方未关闭就丢弃迭代器时
+     * 迭代器被回收后读取线程停止读取并释放文件
+     * </pre>
+     * @param reader sheet读取器
+     * @param plan   映射计划
+     * @param <T>    实体类型
+     * @return {@link ImportRowIterator}
+     */
+    static <T> ImportRowIterator<T> start(SheetReader reader, ImportRowPlan<T> plan) {
+        ImportRowIterator<T> iterator = new ImportRowIterator<>();
+        Buffer buffer = iterator.buffer;
+        WeakReference<ImportRowIterator<T>> owner = new WeakReference<>(iterator);
+        // 使用独立线程 避免消费方处理缓慢时长时间占用公共线程池
+        Thread thread = new Thread(() -> {
+            try {
+                reader.read((rowNum, cells) -> buffer.offer(plan.toBean(cells), owner));
+            } catch (RuntimeException e) {
+                buffer.error = e;
+            } finally {
+                buffer.offer(END, owner);
+            }
+        }, "excel-import-reader");
+        thread.setDaemon(true);
+        thread.start();
+
+        return iterator;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (Objects.nonNull(this.next)) {
+            return true;
+        }
+        if (this.finished) {
+            return false;
+        }
+
+        try {
+            Object item = this.buffer.queue.take();
+            if (item == END) {
+                this.finished = true;
+                if (Objects.nonNull(this.buffer.error)) {
+                    throw this.buffer.error;
+                }
+
+                return false;
+            }
+            this.next = item;
+
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UtilException(e.getMessage());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T item = (T) this.next;
+        this.next = null;
+
+        return item;
+    }
+
+    @Override
+    public void close() {
+        this.buffer.closed = true;
+        this.finished = true;
+        this.next = null;
+        // 释放队列空间 唤醒阻塞的读取线程
+        this.buffer.queue.clear();
+    }
+
+    /**
+     * 读取线程与迭代器共享的状态
+     */
+    private static final class Buffer {
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(CAPACITY);
+        private volatile boolean closed;
+        private volatile RuntimeException error;
+
+        /**
+         * 读取线程入队 迭代器关闭或已被回收后停止读取
+         * @param item  实体或结束标记
+         * @param owner 迭代器弱引用
+         * @return 是否继续读取
+         */
+        private boolean offer(Object item, WeakReference<?> owner) {
+            try {
+                while (!this.closed) {
+                    if (this.queue.offer(item, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                    // 调用方未关闭就丢弃了迭代器
+                    if (Objects.isNull(owner.get())) {
+                        this.closed = true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,603 @@
+package com.tellyes.platform.toolkit.utils;
+
+import com.tellyes.common.utils.DateUtil;
+import com.tellyes.core.exception.UtilException;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.tellyes.platform.toolkit.constants.Constants.COLON;
+
+/**
+ * <pre>
+ * Excel导入行映射计划
+ * 按实体类型编译一次 缓存构造器句柄及列索引对应的setter句柄、类型转换器
+ * int/long/double属性直接调用原始类型setter 不做装箱
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:10
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ * @param <T> 实体类型
+ */
+final class ImportRowPlan<T> {
+    /**
+     * 映射计划缓存
+     */
+    private static final ClassValue<ImportRowPlan<?>> PLANS = new ClassValue<ImportRowPlan<?>>() {
+        @Override
+        protected ImportRowPlan<?> computeValue(Class<?> type) {
+            return compile(type);
+        }
+    };
+
+    /**
+     * 实体类型
+     */
+    private final Class<T> type;
+    /**
+     * 无参构造器句柄 ()Object
+     */
+    private final MethodHandle constructor;
+    /**
+     * 列索引对应的写入器 未映射的列为null
+     */
+    private final ColumnSetter[] setters;
+
+    private ImportRowPlan(Class<T> type, MethodHandle constructor, ColumnSetter[] setters) {
+        this.type = type;
+        this.constructor = constructor;
+        this.setters = setters;
+    }
+
+    /**
+     * 获得实体类型对应的映射计划
+     * @param clazz 实体Class
+     * @param <T>   实体类型
+     * @return {@link ImportRowPlan}
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ImportRowPlan<T> of(Class<T> clazz) {
+        return (ImportRowPlan<T>) PLANS.get(clazz);
+    }
+
+    /**
+     * 是否没有任何列映射
+     * @return true/false
+     */
+    boolean isEmpty() {
+        for (ColumnSetter setter : this.setters) {
+            if (Objects.nonNull(setter)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * 映射的最大列索引 + 1
+     * @return 列宽度
+     */
+    int width() {
+        return this.setters.length;
+    }
+
+    /**
+     * 列是否有对应的属性
+     * @param column 列索引
+     * @return true/false
+     */
+    boolean isMapped(int column) {
+        return column >= 0 && column < this.setters.length && Objects.nonNull(this.setters[column]);
+    }
+
+    /**
+     * 创建实体实例
+     * @return 实体
+     */
+    @SuppressWarnings("unchecked")
+    T newInstance() {
+        if (Objects.isNull(this.constructor)) {
+            throw new UtilException(String.format("%s没有无参构造方法", this.type.getName()));
+        }
+        try {
+            return (T) (Object) this.constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UtilException(e.getMessage());
+        }
+    }
+
+    /**
+     * 将一行单元格值映射为实体
+     * @param cells 单元格值 下标为列索引
+     * @return 实体
+     */
+    T toBean(Object[] cells) {
+        T o = this.newInstance();
+        for (int i = 0; i < cells.length; i++) {
+            if (Objects.nonNull(cells[i]) && this.isMapped(i)) {
+                this.set(o, i, cells[i]);
+            }
+        }
+
+        return o;
+    }
+
+    /**
+     * 根据excel单元格的值填充属性 按单元格值类型直接写入 只有文本单元格需要解析
+     * @param o         要填充的对象
+     * @param column    列索引
+     * @param cellValue 单元格值 {@link String}、{@link Double}、{@link Date}、{@link Boolean}
+     */
+    void set(T o, int column, Object cellValue) {
+        ColumnSetter setter = this.setters[column];
+        try {
+            if (cellValue instanceof Double) {
+                setter.setNumber(o, (Double) cellValue);
+            } else if (cellValue instanceof Date) {
+                setter.setDate(o, (Date) cellValue);
+            } else if (cellValue instanceof Boolean) {
+                setter.setBoolean(o, (Boolean) cellValue);
+            } else {
+                setter.setString(o, String.valueOf(cellValue));
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UtilException(e.getMessage());
+        }
+    }
+
+    /**
+     * 编译映射计划
+     * @param type 实体类型
+     * @param <T>  实体类型
+     * @return {@link ImportRowPlan}
+     */
+    private static <T> ImportRowPlan<T> compile(Class<T> type) {
+        Map<Integer, Field> fields = ExcelUtil.getExportFields(type);
+        int width = fields.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+        ColumnSetter[] setters = new ColumnSetter[width];
+        fields.forEach((index, field) -> {
+            if (index >= 0) {
+                setters[index] = ColumnSetter.of(field);
+            }
+        });
+
+        return new ImportRowPlan<>(type, constructor(type), setters);
+    }
+
+    /**
+     * 无参构造器句柄
+     * @param type 实体类型
+     * @return {@link MethodHandle} 没有无参构造器返回null
+     */
+    private static MethodHandle constructor(Class<?> type) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            ReflectionUtils.makeAccessible(constructor);
+
+            return MethodHandles.lookup()
+                .unreflectConstructor(constructor)
+                .asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 列写入器
+     */
+    private abstract static class ColumnSetter {
+        /**
+         * 属性写入句柄 优先使用setter 没有setter直接写字段
+         */
+        final MethodHandle handle;
+
+        ColumnSetter(MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        /**
+         * 根据字段类型选择写入器
+         * @param field 字段
+         * @return {@link ColumnSetter}
+         */
+        static ColumnSetter of(Field field) {
+            MethodHandle handle = writer(field);
+            Class<?> type = field.getType();
+            if (type == int.class) {
+                return new IntSetter(handle);
+            } else if (type == long.class) {
+                return new LongSetter(handle);
+            } else if (type == double.class) {
+                return new DoubleSetter(handle);
+            }
+
+            return new ObjectSetter(handle, Converter.of(type));
+        }
+
+        /**
+         * 获得属性写入句柄
+         * @param field 字段
+         * @return {@link MethodHandle} (Object, 字段类型)void
+         */
+        private static MethodHandle writer(Field field) {
+            try {
+                // 没有getter或setter的字段直接写入字段
+                Method setter = MethodUtil.findSetter(field.getDeclaringClass(), field);
+                MethodHandle handle;
+                if (Objects.nonNull(setter)) {
+                    ReflectionUtils.makeAccessible(setter);
+                    handle = MethodHandles.lookup().unreflect(setter);
+                } else {
+                    ReflectionUtils.makeAccessible(field);
+                    handle = MethodHandles.lookup().unreflectSetter(field);
+                }
+
+                return handle.asType(MethodType.methodType(void.class, Object.class, field.getType()));
+            } catch (IllegalAccessException e) {
+                throw ExceptionUtil.UTIL_EXCEPTION_FUNCTION.apply(e);
+            }
+        }
+
+        /**
+         * 写入文本单元格值
+         * @param o     实体
+         * @param value 单元格值
+         * @throws Throwable setter异常
+         */
+        abstract void setString(Object o, String value) throws Throwable;
+
+        /**
+         * 写入数字单元格值 默认按文本处理
+         * @param o     实体
+         * @param value 单元格值
+         * @throws Throwable setter异常
+         */
+        void setNumber(Object o, double value) throws Throwable {
+            this.setString(o, NumberToTextConverter.toText(value));
+        }
+
+        /**
+         * 写入日期单元格值 默认按yyyy-MM-dd HH:mm:ss文本处理
+         * @param o     实体
+         * @param value 单元格值
+         * @throws Throwable setter异常
+         */
+        void setDate(Object o, Date value) throws Throwable {
+            this.setString(o, DateUtil.datetimeToString(value));
+        }
+
+        /**
+         * 写入布尔单元格值 默认按TRUE/FALSE文本处理
+         * @param o     实体
+         * @param value 单元格值
+         * @throws Throwable setter异常
+         */
+        void setBoolean(Object o, boolean value) throws Throwable {
+            this.setString(o, String.valueOf(value).toUpperCase());
+        }
+    }
+
+    /**
+     * int属性写入器
+     */
+    private static final class IntSetter extends ColumnSetter {
+        IntSetter(MethodHandle handle) {
+            super(handle);
+        }
+
+        @Override
+        void setString(Object o, String value) throws Throwable {
+            this.handle.invokeExact(o, Integer.parseInt(value));
+        }
+
+        @Override
+        void setNumber(Object o, double value) throws Throwable {
+            int i = (int) value;
+            // 与文本解析一致 非整数不允许写入
+            if (i != value) {
+                throw new NumberFormatException("For input string: \"" + NumberToTextConverter.toText(value) + "\"");
+            }
+            this.handle.invokeExact(o, i);
+        }
+    }
+
+    /**
+     * long属性写入器
+     */
+    private static final class LongSetter extends ColumnSetter {
+        LongSetter(MethodHandle handle) {
+            super(handle);
+        }
+
+        @Override
+        void setString(Object o, String value) throws Throwable {
+            this.handle.invokeExact(o, Long.parseLong(value));
+        }
+
+        @Override
+        void setNumber(Object o, double value) throws Throwable {
+            long l = (long) value;
+            // 与文本解析一致 非整数不允许写入
+            if (l != value) {
+                throw new NumberFormatException("For input string: \"" + NumberToTextConverter.toText(value) + "\"");
+            }
+            this.handle.invokeExact(o, l);
+        }
+    }
+
+    /**
+     * double属性写入器
+     */
+    private static final class DoubleSetter extends ColumnSetter {
+        DoubleSetter(MethodHandle handle) {
+            super(handle);
+        }
+
+        @Override
+        void setString(Object o, String value) throws Throwable {
+            this.handle.invokeExact(o, Double.parseDouble(value));
+        }
+
+        @Override
+        void setNumber(Object o, double value) throws Throwable {
+            this.handle.invokeExact(o, value);
+        }
+    }
+
+    /**
+     * 引用类型及其他原始类型属性写入器
+     */
+    private static final class ObjectSetter extends ColumnSetter {
+        private final Converter converter;
+
+        ObjectSetter(MethodHandle handle, Converter converter) {
+            // 统一为(Object, Object)void 原始类型由句柄拆箱
+            super(handle.asType(MethodType.methodType(void.class, Object.class, Object.class)));
+            this.converter = converter;
+        }
+
+        @Override
+        void setString(Object o, String value) throws Throwable {
+            this.handle.invokeExact(o, this.converter.fromString(value));
+        }
+
+        @Override
+        void setNumber(Object o, double value) throws Throwable {
+            this.handle.invokeExact(o, this.converter.fromNumber(value));
+        }
+
+        @Override
+        void setDate(Object o, Date value) throws Throwable {
+            this.handle.invokeExact(o, this.converter.fromDate(value));
+        }
+
+        @Override
+        void setBoolean(Object o, boolean value) throws Throwable {
+            this.handle.invokeExact(o, this.converter.fromBoolean(value));
+        }
+    }
+
+    /**
+     * 单元格值到属性类型的转换器 非文本单元格默认转为文本后解析
+     */
+    @FunctionalInterface
+    private interface Converter {
+        /**
+         * 根据属性类型选择转换器
+         * @param type 属性类型
+         * @return {@link Converter}
+         */
+        static Converter of(Class<?> type) {
+            return Arrays.stream(Converters.values())
+                .filter(converter -> converter.types.contains(type))
+                .findFirst()
+                .map(Converter.class::cast)
+                .orElse(value -> {
+                    throw new UtilException("excel导入暂时不支持类型" + type.getName());
+                });
+        }
+
+        /**
+         * 文本转换
+         * @param value 单元格值
+         * @return 属性值
+         */
+        Object fromString(String value);
+
+        /**
+         * 数字转换
+         * @param value 单元格值
+         * @return 属性值
+         */
+        default Object fromNumber(double value) {
+            return this.fromString(NumberToTextConverter.toText(value));
+        }
+
+        /**
+         * 日期转换
+         * @param value 单元格值
+         * @return 属性值
+         */
+        default Object fromDate(Date value) {
+            return this.fromString(DateUtil.datetimeToString(value));
+        }
+
+        /**
+         * 布尔转换
+         * @param value 单元格值
+         * @return 属性值
+         */
+        default Object fromBoolean(boolean value) {
+            return this.fromString(String.valueOf(value).toUpperCase());
+        }
+    }
+
+    /**
+     * 支持的属性类型转换器
+     */
+    private enum Converters implements Converter {
+        BOOLEAN(boolean.class, Boolean.class) {
+            @Override
+            public Object fromString(String value) {
+                return Boolean.valueOf(value);
+            }
+
+            @Override
+            public Object fromBoolean(boolean value) {
+                return value;
+            }
+        },
+        INTEGER(Integer.class) {
+            @Override
+            public Object fromString(String value) {
+                return Integer.valueOf(value);
+            }
+
+            @Override
+            public Object fromNumber(double value) {
+                int i = (int) value;
+                return i == value ? Integer.valueOf(i) : this.fromString(NumberToTextConverter.toText(value));
+            }
+        },
+        SHORT(short.class, Short.class) {
+            @Override
+            public Object fromString(String value) {
+                return Short.valueOf(value);
+            }
+
+            @Override
+            public Object fromNumber(double value) {
+                short i = (short) value;
+                return i == value ? Short.valueOf(i) : this.fromString(NumberToTextConverter.toText(value));
+            }
+        },
+        BYTE(byte.class, Byte.class) {
+            @Override
+            public Object fromString(String value) {
+                return Byte.valueOf(value);
+            }
+
+            @Override
+            public Object fromNumber(double value) {
+                byte i = (byte) value;
+                return i == value ? Byte.valueOf(i) : this.fromString(NumberToTextConverter.toText(value));
+            }
+        },
+        FLOAT(float.class, Float.class) {
+            @Override
+            public Object fromString(String value) {
+                return Float.valueOf(value);
+            }
+
+            @Override
+            public Object fromNumber(double value) {
+                return (float) value;
+            }
+        },
+        DOUBLE(Double.class) {
+            @Override
+            public Object fromString(String value) {
+                return Double.valueOf(value);
+            }
+
+            @Override
+            public Object fromNumber(double value) {
+                return value;
+            }
+        },
+        LONG(Long.class) {
+            @Override
+            public Object fromString(String value) {
+                return Long.valueOf(value);
+            }
+
+            @Override
+            public Object fromNumber(double value) {
+                long l = (long) value;
+                return l == value ? Long.valueOf(l) : this.fromString(NumberToTextConverter.toText(value));
+            }
+        },
+        BIG_INTEGER(BigInteger.class) {
+            @Override
+            public Object fromString(String value) {
+                return new BigInteger(value);
+            }
+        },
+        BIG_DECIMAL(BigDecimal.class) {
+            @Override
+            public Object fromString(String value) {
+                return new BigDecimal(value);
+            }
+        },
+        DATE(Date.class) {
+            @Override
+            public Object fromString(String value) {
+                // 日期格式统一为 yyyy-MM-dd HH:mm:ss
+                // 根据冒号是否存在区分是date 还是datetime
+                return value.contains(COLON) ? DateUtil.stringToDatetime(value) : DateUtil.stringToDate(value);
+            }
+
+            @Override
+            public Object fromDate(Date value) {
+                return value;
+            }
+        },
+        LOCAL_DATE(LocalDate.class) {
+            @Override
+            public Object fromString(String value) {
+                return LocalDateUtil.toLocalDate((Date) DATE.fromString(value));
+            }
+
+            @Override
+            public Object fromDate(Date value) {
+                return LocalDateUtil.toLocalDate(value);
+            }
+        },
+        LOCAL_DATE_TIME(LocalDateTime.class) {
+            @Override
+            public Object fromString(String value) {
+                return this.fromDate((Date) DATE.fromString(value));
+            }
+
+            @Override
+            public Object fromDate(Date value) {
+                return LocalDateTime.ofInstant(value.toInstant(), LocalDateUtil.ZONE_ID);
+            }
+        },
+        STRING(String.class) {
+            @Override
+            public Object fromString(String value) {
+                return value;
+            }
+        };
+
+        /**
+         * 适用的属性类型
+         */
+        private final List<Class<?>> types;
+
+        Converters(Class<?>... types) {
+            this.types = Arrays.asList(types);
+        }
+    }
+}
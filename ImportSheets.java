@@ -0,0 +1,189 @@
+package com.tellyes.platform.toolkit.utils;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * <pre>
+ * 多sheet并行导入
+ * {@link ImportExcelUtil.Mode#USER_MODEL}的sheet按文件分组 一个文件只加载一个workbook
+ * 避免同一文件的多个sheet同时加载整个workbook 内存随sheet数成倍增长
+ * 任一sheet失败(包括线程池拒绝提交)时立即取消 未开始的解析不再执行 正在解析的sheet在下一行停止
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:42
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+final class ImportSheets {
+    private ImportSheets() {
+    }
+
+    /**
+     * 并行解析
+     * @param sheets   待解析的sheet
+     * @param executor 线程池
+     * @return 按传入顺序排列的解析结果
+     */
+    static Map<ImportExcelUtil.ImportSheet<?>, List<?>> parseAll(List<ImportExcelUtil.ImportSheet<?>> sheets,
+                                                                 Executor executor) {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        // 提交的任务 失败时取消 任务完成回调与提交并发访问
+        List<CompletableFuture<?>> tasks = new CopyOnWriteArrayList<>();
+        // 第一个失败的任务完成此future
+        CompletableFuture<Void> failure = new CompletableFuture<>();
+        failure.whenComplete((result, e) -> cancel(cancelled, tasks));
+        Map<ImportExcelUtil.ImportSheet<?>, CompletableFuture<List<?>>> futures = new HashMap<>(sheets.size() * 2);
+        // 文件 -> 同一文件中USER_MODEL解析的sheet
+        Map<Object, List<ImportExcelUtil.ImportSheet<?>>> workbooks = new LinkedHashMap<>();
+
+        try {
+            sheets.forEach(sheet -> {
+                if (sheet.getMode() == ImportExcelUtil.Mode.USER_MODEL) {
+                    workbooks.computeIfAbsent(key(sheet.getSource()), key -> new ArrayList<>()).add(sheet);
+                } else {
+                    futures.put(sheet, submit(() -> parse(sheet, null, cancelled), executor, tasks, failure));
+                }
+            });
+            workbooks.values().forEach(group -> {
+                CompletableFuture<Map<ImportExcelUtil.ImportSheet<?>, List<?>>> future =
+                    submit(() -> parseWorkbook(group, cancelled), executor, tasks, failure);
+                group.forEach(sheet -> futures.put(sheet, future.thenApply(results -> results.get(sheet))));
+            });
+        } catch (RuntimeException e) {
+            // 线程池拒绝提交 已提交的解析取消
+            cancel(cancelled, tasks);
+            throw e;
+        }
+
+        try {
+            // 全部完成或任一失败时返回
+            CompletableFuture.anyOf(CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])), failure)
+                .join();
+        } catch (CompletionException e) {
+            cancel(cancelled, tasks);
+            Throwable cause = Objects.isNull(e.getCause()) ? e : e.getCause();
+            throw cause instanceof RuntimeException
+                ? (RuntimeException) cause
+                : ExceptionUtil.UTIL_EXCEPTION_FUNCTION.apply(cause);
+        }
+
+        Map<ImportExcelUtil.ImportSheet<?>, List<?>> results = new LinkedHashMap<>(sheets.size() * 2);
+        sheets.forEach(sheet -> results.put(sheet, futures.get(sheet).join()));
+
+        return results;
+    }
+
+    /**
+     * 提交解析任务 任务失败时完成{@code failure}
+     * @param supplier 解析
+     * @param executor 线程池
+     * @param tasks    提交的任务
+     * @param failure  第一个失败
+     * @param <T>      解析结果类型
+     * @return 解析任务
+     */
+    private static <T> CompletableFuture<T> submit(Supplier<T> supplier, Executor executor,
+                                                   List<CompletableFuture<?>> tasks, CompletableFuture<Void> failure) {
+        CompletableFuture<T> task = CompletableFuture.supplyAsync(supplier, executor);
+        tasks.add(task);
+        task.whenComplete((result, e) -> {
+            if (Objects.nonNull(e)) {
+                failure.completeExceptionally(e);
+            }
+        });
+
+        return task;
+    }
+
+    /**
+     * 取消全部解析 未开始的任务不再执行 正在解析的在下一行停止
+     * @param cancelled 取消标记
+     * @param tasks     提交的任务
+     */
+    private static void cancel(AtomicBoolean cancelled, List<CompletableFuture<?>> tasks) {
+        cancelled.set(true);
+        tasks.forEach(task -> task.cancel(false));
+    }
+
+    /**
+     * 加载一次workbook 依次解析其中的sheet
+     * @param group     同一文件的sheet
+     * @param cancelled 取消标记
+     * @return sheet -> 实体列表
+     */
+    private static Map<ImportExcelUtil.ImportSheet<?>, List<?>> parseWorkbook(
+        List<ImportExcelUtil.ImportSheet<?>> group, AtomicBoolean cancelled) {
+        Map<ImportExcelUtil.ImportSheet<?>, List<?>> results = new HashMap<>(group.size() * 2);
+        try (Workbook workbook = group.get(0).getSource().openWorkbook()) {
+            for (ImportExcelUtil.ImportSheet<?> sheet : group) {
+                if (cancelled.get()) {
+                    break;
+                }
+                results.put(sheet, parse(sheet, workbook, cancelled));
+            }
+        } catch (IOException | InvalidFormatException e) {
+            throw ExceptionUtil.UTIL_EXCEPTION_FUNCTION.apply(e);
+        }
+
+        return results;
+    }
+
+    /**
+     * 解析一个sheet
+     * @param sheet     sheet描述
+     * @param workbook  已加载的workbook 为null时由读取器自行打开数据源
+     * @param cancelled 取消标记
+     * @param <T>       实体类型
+     * @return 实体列表
+     */
+    private static <T> List<T> parse(ImportExcelUtil.ImportSheet<T> sheet, Workbook workbook,
+                                     AtomicBoolean cancelled) {
+        List<T> list = new ArrayList<>();
+        if (sheet.getSheetIndex() < 0 || sheet.getStartRow() < 0 || cancelled.get()) {
+            return list;
+        }
+
+        // 实体映射计划
+        ImportRowPlan<T> plan = ImportRowPlan.of(sheet.getClazz());
+        if (plan.isEmpty()) {
+            return list;
+        }
+
+        SheetReader.RowVisitor visitor = (rowNum, cells) -> {
+            list.add(plan.toBean(cells));
+            return !cancelled.get();
+        };
+        if (Objects.isNull(workbook)) {
+            SheetReader.of(sheet.getMode(), sheet.getSource(), sheet.getSheetIndex(), sheet.getStartRow(), plan)
+                .read(visitor);
+        } else {
+            new WorkbookSheetReader(sheet.getSource(), sheet.getSheetIndex(), sheet.getStartRow(), plan)
+                .read(workbook, visitor);
+        }
+
+        return list;
+    }
+
+    /**
+     * 数据源分组键 文件按绝对路径 流按实例
+     * @param source excel数据源
+     * @return 分组键
+     */
+    private static Object key(ExcelSource source) {
+        return source.isFile() ? source.getFile().getAbsoluteFile() : source;
+    }
+}
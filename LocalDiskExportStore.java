@@ -0,0 +1,263 @@
+package com.tellyes.platform.toolkit.utils;
+
+import com.tellyes.core.exception.UtilException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * 本地磁盘导出文件存储
+ * 文件超过存活时间未被访问即淘汰 总大小超出配额时按最近访问时间淘汰最久未访问的文件
+ * 访问时间记录在文件修改时间上 由后台线程定期清理
+ * 正在写入、读取的文件及刚写入完成的文件不会被淘汰 单个文件超出容量时写入完成即删除
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:28
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+public class LocalDiskExportStore implements ExportStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalDiskExportStore.class);
+    /**
+     * 默认存活时间
+     */
+    public static final long DEFAULT_TTL = TimeUnit.HOURS.toMillis(2);
+    /**
+     * 默认容量 1GB
+     */
+    public static final long DEFAULT_QUOTA = 1024L * 1024 * 1024;
+    /**
+     * 默认清理间隔
+     */
+    public static final long DEFAULT_SWEEP_INTERVAL = TimeUnit.MINUTES.toMillis(10);
+
+    private final File root;
+    private final long ttl;
+    private final long quota;
+    /**
+     * 正在写入的文件
+     */
+    private final Set<String> writing = ConcurrentHashMap.newKeySet();
+    /**
+     * 正在读取的文件 -> 读取数
+     */
+    private final Map<String, Integer> reading = new ConcurrentHashMap<>(16);
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * 默认配置的存储
+     * @param root 存储目录
+     */
+    public LocalDiskExportStore(File root) {
+        this(root, DEFAULT_TTL, DEFAULT_QUOTA, DEFAULT_SWEEP_INTERVAL);
+    }
+
+    /**
+     * @param root          存储目录
+     * @param ttl           存活时间(毫秒)
+     * @param quota         总容量(字节)
+     * @param sweepInterval 清理间隔(毫秒)
+     */
+    public LocalDiskExportStore(File root, long ttl, long quota, long sweepInterval) {
+        this.root = Objects.requireNonNull(root);
+        this.ttl = ttl;
+        this.quota = quota;
+        if (!root.exists() && !root.mkdirs() && !root.exists()) {
+            throw new UtilException(String.format("导出目录%s创建失败", root.getPath()));
+        }
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "excel-export-store-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sweeper.scheduleWithFixedDelay(() -> {
+            try {
+                this.sweep();
+            } catch (Exception e) {
+                LOGGER.error(e.getMessage(), e);
+            }
+        }, 0, sweepInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public File allocate(String name) {
+        File file = this.resolve(name);
+        this.writing.add(file.getName());
+
+        return file;
+    }
+
+    @Override
+    public void complete(String name) {
+        File file = this.resolve(name);
+        this.writing.remove(file.getName());
+        if (file.length() > this.quota) {
+            this.delete(file);
+            throw new UtilException(String.format("文件%s超出导出存储容量%d字节", name, this.quota));
+        }
+        // 新文件可能超出容量 淘汰其他文件
+        this.evictOverQuota(this.files(), file.getName());
+    }
+
+    @Override
+    public File get(String name) {
+        File file = this.resolve(name);
+        if (!file.isFile() || this.isExpired(file, System.currentTimeMillis())) {
+            return null;
+        }
+
+        return this.touch(file);
+    }
+
+    @Override
+    public File acquire(String name) {
+        File file = this.resolve(name);
+        // 先标记再检查 避免检查后被淘汰
+        this.reading.merge(file.getName(), 1, Integer::sum);
+        if (!file.isFile() || System.currentTimeMillis() - file.lastModified() > this.ttl) {
+            this.release(name);
+            return null;
+        }
+
+        return this.touch(file);
+    }
+
+    @Override
+    public void release(String name) {
+        this.reading.computeIfPresent(this.resolve(name).getName(), (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    @Override
+    public void delete(String name) {
+        this.delete(this.resolve(name));
+    }
+
+    @Override
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        File[] files = this.files();
+        Arrays.stream(files)
+            .filter(file -> this.isExpired(file, now))
+            .forEach(this::delete);
+
+        this.evictOverQuota(this.files(), null);
+    }
+
+    /**
+     * 停止后台清理
+     */
+    @Override
+    public void shutdown() {
+        this.sweeper.shutdownNow();
+    }
+
+    public File getRoot() {
+        return root;
+    }
+
+    /**
+     * 超出容量时删除最久未访问的文件
+     * @param files  存储中的文件
+     * @param exempt 不淘汰的文件名 可为null
+     */
+    private synchronized void evictOverQuota(File[] files, String exempt) {
+        long total = Arrays.stream(files).mapToLong(File::length).sum();
+        if (total <= this.quota) {
+            return;
+        }
+
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (total <= this.quota) {
+                break;
+            }
+            if (file.getName().equals(exempt) || this.isInUse(file)) {
+                continue;
+            }
+            long length = file.length();
+            if (this.delete(file)) {
+                total -= length;
+            }
+        }
+    }
+
+    /**
+     * 文件是否已过期 写入、读取中的文件不过期
+     * @param file 文件
+     * @param now  当前时间
+     * @return true/false
+     */
+    private boolean isExpired(File file, long now) {
+        return !this.isInUse(file) && now - file.lastModified() > this.ttl;
+    }
+
+    /**
+     * 文件是否正在写入或读取
+     * @param file 文件
+     * @return true/false
+     */
+    private boolean isInUse(File file) {
+        return this.writing.contains(file.getName()) || this.reading.containsKey(file.getName());
+    }
+
+    /**
+     * 记录访问时间
+     * @param file 文件
+     * @return 文件
+     */
+    private File touch(File file) {
+        if (!file.setLastModified(System.currentTimeMillis())) {
+            LOGGER.debug(String.format("file %s access time can not be updated", file.getPath()));
+        }
+
+        return file;
+    }
+
+    /**
+     * 存储中的文件
+     * @return 文件列表
+     */
+    private File[] files() {
+        return Optional.ofNullable(this.root.listFiles(File::isFile)).orElse(new File[0]);
+    }
+
+    /**
+     * 删除文件
+     * @param file 文件
+     * @return 是否删除
+     */
+    private boolean delete(File file) {
+        if (file.exists() && file.delete()) {
+            LOGGER.debug(String.format("file %s deleted!", file.getPath()));
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * 解析文件 只允许存储目录下的文件名 防止路径穿越
+     * @param name 文件名
+     * @return {@link File}
+     */
+    private File resolve(String name) {
+        File file = new File(this.root, name);
+        if (!this.root.equals(file.getParentFile()) || name.contains("..")) {
+            throw new UtilException(String.format("非法的文件名%s", name));
+        }
+
+        return file;
+    }
+}
@@ -1,6 +1,8 @@
 package com.tellyes.platform.toolkit.utils;
 
 import com.tellyes.core.exception.UtilException;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.ReflectionUtils;
 
 import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
@@ -60,4 +62,14 @@ public interface MethodUtil {
     static Method findSetter4Field(Field field) {
         return findSetter4Property(field.getDeclaringClass(), field.getName());
     }
+
+    /**
+     * 按名称查找字段的setter方法 不要求存在getter
+     * @param clazz class
+     * @param field {@link Field}
+     * @return {@link Method} 没有setter时返回null
+     */
+    static Method findSetter(Class<?> clazz, Field field) {
+        return ReflectionUtils.findMethod(clazz, "set" + StringUtils.capitalize(field.getName()), field.getType());
+    }
 }
@@ -0,0 +1,62 @@
+package com.tellyes.platform.toolkit.utils;
+
+/**
+ * <pre>
+ * Excel sheet行读取器
+ * 只读取{@link ImportRowPlan}中映射的列 逐行回调
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:11
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+interface SheetReader {
+    /**
+     * 获得读取器
+     * @param mode       导入模式
+     * @param source     excel数据源
+     * @param sheetIndex sheet索引
+     * @param startRow   解析开始行数
+     * @param plan       映射计划
+     * @return {@link SheetReader}
+     */
+    static SheetReader of(ImportExcelUtil.Mode mode, ExcelSource source, int sheetIndex, int startRow,
+                          ImportRowPlan<?> plan) {
+        if (mode == ImportExcelUtil.Mode.STREAMING) {
+            // 根据文件头选择xls或xlsx事件模型
+            return source.isOle2() ?
+                new XlsSheetReader(source, sheetIndex, startRow, plan) :
+                new XlsxSheetReader(source, sheetIndex, startRow, plan);
+        }
+
+        return new WorkbookSheetReader(source, sheetIndex, startRow, plan);
+    }
+
+    /**
+     * 读取sheet 读取异常统一转为{@link com.tellyes.core.exception.UtilException}
+     * @param visitor 行回调
+     */
+    void read(RowVisitor visitor);
+
+    /**
+     * 行回调
+     */
+    @FunctionalInterface
+    interface RowVisitor {
+        /**
+         * 处理一行数据
+         * @param rowNum 行索引 从0开始
+         * @param cells  单元格值 下标为列索引 未映射及空单元格为null
+         *               {@link String}、{@link Double}、{@link java.util.Date}、{@link Boolean}
+         * @return 是否继续读取
+         */
+        boolean visit(int rowNum, Object[] cells);
+
+        /**
+         * sheet声明的最后一行 在读取行数据之前回调
+         * 来自xlsx的dimension元素、xls的DIMENSIONS记录 可能不准确
+         * @param lastRowNum 最后一行索引 从0开始
+         */
+        default void dimension(int lastRowNum) {
+        }
+    }
+}
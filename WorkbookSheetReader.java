@@ -0,0 +1,97 @@
+package com.tellyes.platform.toolkit.utils;
+
+import org.apache.poi.hssf.usermodel.HSSFDateUtil;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.io.IOException;
+
+/**
+ * 基于{@link org.apache.poi.ss.usermodel.WorkbookFactory}的sheet读取器 整个workbook加载到内存
+ * @author agent
+ * @date 2026/10/18 01:11
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+final class WorkbookSheetReader implements SheetReader {
+    private final ExcelSource source;
+    private final int sheetIndex;
+    private final int startRow;
+    private final ImportRowPlan<?> plan;
+
+    WorkbookSheetReader(ExcelSource source, int sheetIndex, int startRow, ImportRowPlan<?> plan) {
+        this.source = source;
+        this.sheetIndex = sheetIndex;
+        this.startRow = startRow;
+        this.plan = plan;
+    }
+
+    @Override
+    public void read(RowVisitor visitor) {
+        try (Workbook workbook = this.source.openWorkbook()) {
+            this.read(workbook, visitor);
+        } catch (IOException | InvalidFormatException e) {
+            throw ExceptionUtil.UTIL_EXCEPTION_FUNCTION.apply(e);
+        }
+    }
+
+    /**
+     * 从已加载的workbook读取sheet 同一文件的多个sheet共用一个workbook 不关闭workbook
+     * @param workbook {@link Workbook}
+     * @param visitor  行回调
+     */
+    void read(Workbook workbook, RowVisitor visitor) {
+        Sheet sheet = workbook.getSheetAt(this.sheetIndex);
+        visitor.dimension(sheet.getLastRowNum());
+        for (Row row : sheet) {
+            if (row.getRowNum() < this.startRow) {
+                continue;
+            }
+            if (!visitor.visit(row.getRowNum(), this.cells(row))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 获得行中映射列的单元格值 按单元格类型读取 不修改workbook
+     * @param row {@link Row}
+     * @return 单元格值
+     */
+    private Object[] cells(Row row) {
+        Object[] cells = new Object[this.plan.width()];
+        row.forEach(col -> {
+            int index = col.getColumnIndex();
+            // 过滤未映射的列
+            if (this.plan.isMapped(index)) {
+                int type = col.getCellType();
+                // 公式取缓存的计算结果
+                cells[index] = value(col, type == Cell.CELL_TYPE_FORMULA ? col.getCachedFormulaResultType() : type);
+            }
+        });
+
+        return cells;
+    }
+
+    /**
+     * 单元格值
+     * @param cell {@link Cell}
+     * @param type 单元格类型
+     * @return {@link String}、{@link Double}、{@link java.util.Date}、{@link Boolean} 空单元格为null
+     */
+    private static Object value(Cell cell, int type) {
+        switch (type) {
+            case Cell.CELL_TYPE_NUMERIC:
+                return HSSFDateUtil.isCellDateFormatted(cell) ? cell.getDateCellValue() : cell.getNumericCellValue();
+            case Cell.CELL_TYPE_STRING:
+                return cell.getStringCellValue();
+            case Cell.CELL_TYPE_BOOLEAN:
+                return cell.getBooleanCellValue();
+            default:
+                // 空单元格、错误单元格
+                return null;
+        }
+    }
+}
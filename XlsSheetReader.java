@@ -0,0 +1,258 @@
+package com.tellyes.platform.toolkit.utils;
+
+import com.tellyes.core.exception.UtilException;
+import org.apache.poi.hssf.eventusermodel.AbortableHSSFListener;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.HSSFUserException;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.DateWindow1904Record;
+import org.apache.poi.hssf.record.DimensionsRecord;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.hssf.usermodel.HSSFDateUtil;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * <pre>
+ * 基于HSSF事件模型的xls sheet读取器
+ * 通过{@link HSSFEventFactory}逐条处理BIFF记录 不构建HSSFWorkbook
+ * 只物化{@link ImportRowPlan}中映射的列
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:13
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+final class XlsSheetReader implements SheetReader {
+    private final ExcelSource source;
+    private final int sheetIndex;
+    private final int startRow;
+    private final ImportRowPlan<?> plan;
+
+    XlsSheetReader(ExcelSource source, int sheetIndex, int startRow, ImportRowPlan<?> plan) {
+        this.source = source;
+        this.sheetIndex = sheetIndex;
+        this.startRow = startRow;
+        this.plan = plan;
+    }
+
+    @Override
+    public void read(RowVisitor visitor) {
+        try (NPOIFSFileSystem fs = this.source.openFileSystem()) {
+            RecordHandler handler = new RecordHandler(visitor);
+            HSSFRequest request = new HSSFRequest();
+            request.addListenerForAllRecords(handler);
+            new HSSFEventFactory().abortableProcessWorkbookEvents(request, fs.getRoot());
+
+            if (handler.sheet < this.sheetIndex) {
+                throw new UtilException(String.format("sheet索引%d超出范围", this.sheetIndex));
+            }
+        } catch (IOException | HSSFUserException e) {
+            throw ExceptionUtil.UTIL_EXCEPTION_FUNCTION.apply(e);
+        }
+    }
+
+    /**
+     * BIFF记录处理器
+     */
+    private final class RecordHandler extends AbortableHSSFListener {
+        private final RowVisitor visitor;
+        /**
+         * 补全缺失行、行结束记录
+         */
+        private final MissingRecordAwareHSSFListener missingRecordListener;
+        /**
+         * 跟踪单元格格式 用于识别日期
+         */
+        private final FormatTrackingHSSFListener formatListener;
+
+        private SSTRecord sst;
+        /**
+         * 是否使用1904日期系统
+         */
+        private boolean date1904;
+        /**
+         * 当前sheet索引
+         */
+        private int sheet = -1;
+        private Object[] cells;
+        /**
+         * 等待StringRecord的公式单元格列索引
+         */
+        private int formulaColumn = -1;
+        /**
+         * 是否已读取完目标sheet或被要求停止
+         */
+        private boolean stopped;
+
+        RecordHandler(RowVisitor visitor) {
+            this.visitor = visitor;
+            this.formatListener = new FormatTrackingHSSFListener(new HSSFListener() {
+                @Override
+                public void processRecord(Record record) {
+                    RecordHandler.this.process(record);
+                }
+            });
+            this.missingRecordListener = new MissingRecordAwareHSSFListener(this.formatListener);
+        }
+
+        @Override
+        public short abortableProcessRecord(Record record) {
+            this.missingRecordListener.processRecord(record);
+
+            return (short) (this.stopped ? 1 : 0);
+        }
+
+        /**
+         * 处理补全后的记录
+         * @param record BIFF记录
+         */
+        private void process(Record record) {
+            switch (record.getSid()) {
+                case BOFRecord.sid:
+                    if (((BOFRecord) record).getType() == BOFRecord.TYPE_WORKSHEET) {
+                        this.sheet++;
+                    }
+                    break;
+                case SSTRecord.sid:
+                    this.sst = (SSTRecord) record;
+                    break;
+                case DateWindow1904Record.sid:
+                    this.date1904 = ((DateWindow1904Record) record).getWindowing() == 1;
+                    break;
+                case DimensionsRecord.sid:
+                    if (this.sheet == XlsSheetReader.this.sheetIndex) {
+                        // DIMENSIONS记录的最后一行为索引+1
+                        this.visitor.dimension(((DimensionsRecord) record).getLastRow() - 1);
+                    }
+                    break;
+                case EOFRecord.sid:
+                    // 目标sheet读取完毕
+                    this.stopped = this.sheet == XlsSheetReader.this.sheetIndex;
+                    break;
+                case LabelSSTRecord.sid:
+                    LabelSSTRecord labelSst = (LabelSSTRecord) record;
+                    this.cell(labelSst, () -> this.sst.getString(labelSst.getSSTIndex()).getString());
+                    break;
+                case LabelRecord.sid:
+                    LabelRecord label = (LabelRecord) record;
+                    this.cell(label, label::getValue);
+                    break;
+                case NumberRecord.sid:
+                    NumberRecord number = (NumberRecord) record;
+                    this.cell(number, () -> this.number(number, number.getValue()));
+                    break;
+                case BoolErrRecord.sid:
+                    BoolErrRecord boolErr = (BoolErrRecord) record;
+                    this.cell(boolErr, () -> boolErr.isBoolean() ? boolErr.getBooleanValue() : null);
+                    break;
+                case FormulaRecord.sid:
+                    FormulaRecord formula = (FormulaRecord) record;
+                    if (formula.hasCachedResultString()) {
+                        // 字符串结果在随后的StringRecord中
+                        this.formulaColumn = this.isCaptured(formula) ? formula.getColumn() : -1;
+                    } else if (formula.getCachedResultType() == Cell.CELL_TYPE_NUMERIC) {
+                        this.cell(formula, () -> this.number(formula, formula.getValue()));
+                    } else if (formula.getCachedResultType() == Cell.CELL_TYPE_BOOLEAN) {
+                        // 与布尔单元格一致
+                        this.cell(formula, formula::getCachedBooleanValue);
+                    }
+                    break;
+                case StringRecord.sid:
+                    if (this.formulaColumn >= 0) {
+                        this.cells()[this.formulaColumn] = ((StringRecord) record).getString();
+                    }
+                    this.formulaColumn = -1;
+                    break;
+                default:
+                    if (record instanceof LastCellOfRowDummyRecord) {
+                        this.endRow(((LastCellOfRowDummyRecord) record).getRow());
+                    }
+                    break;
+            }
+        }
+
+        /**
+         * 单元格是否需要读取
+         * @param record 单元格记录
+         * @return true/false
+         */
+        private boolean isCaptured(CellValueRecordInterface record) {
+            return this.sheet == XlsSheetReader.this.sheetIndex
+                && record.getRow() >= XlsSheetReader.this.startRow
+                && XlsSheetReader.this.plan.isMapped(record.getColumn());
+        }
+
+        /**
+         * 写入映射列的单元格值
+         * @param record 单元格记录
+         * @param value  单元格值
+         */
+        private void cell(CellValueRecordInterface record, Supplier<Object> value) {
+            if (this.isCaptured(record)) {
+                this.cells()[record.getColumn()] = value.get();
+            }
+        }
+
+        /**
+         * 当前行的单元格值 行内第一个映射列出现时创建
+         * @return 单元格值
+         */
+        private Object[] cells() {
+            if (Objects.isNull(this.cells)) {
+                this.cells = new Object[XlsSheetReader.this.plan.width()];
+            }
+
+            return this.cells;
+        }
+
+        /**
+         * 数字单元格值 日期格式的返回{@link java.util.Date}
+         * @param record 单元格记录
+         * @param value  数字值
+         * @return 单元格值
+         */
+        private Object number(CellValueRecordInterface record, double value) {
+            int formatIndex = this.formatListener.getFormatIndex(record);
+            String formatString = this.formatListener.getFormatString(record);
+            if (HSSFDateUtil.isADateFormat(formatIndex, formatString) && HSSFDateUtil.isValidExcelDate(value)) {
+                return HSSFDateUtil.getJavaDate(value, this.date1904);
+            }
+
+            return value;
+        }
+
+        /**
+         * 行结束
+         * @param row 行索引
+         */
+        private void endRow(int row) {
+            if (this.sheet != XlsSheetReader.this.sheetIndex || row < XlsSheetReader.this.startRow) {
+                return;
+            }
+
+            Object[] current = this.cells();
+            this.cells = null;
+            if (!this.visitor.visit(row, current)) {
+                this.stopped = true;
+            }
+        }
+    }
+}
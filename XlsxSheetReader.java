@@ -0,0 +1,370 @@
+package com.tellyes.platform.toolkit.utils;
+
+import com.tellyes.core.exception.UtilException;
+import org.apache.poi.hssf.usermodel.HSSFDateUtil;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.util.SAXHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <pre>
+ * 基于XSSF事件模型的xlsx sheet读取器
+ * 通过{@link XSSFReader}流式解析sheet xml 内存占用与文件大小无关
+ * 只物化{@link ImportRowPlan}中映射的列
+ * </pre>
+ * @author agent
+ * @date 2026/10/18 01:11
+ * @Copyright(c) tellyes tech. inc. co.,ltd
+ */
+final class XlsxSheetReader implements SheetReader {
+    private final ExcelSource source;
+    private final int sheetIndex;
+    private final int startRow;
+    private final ImportRowPlan<?> plan;
+
+    XlsxSheetReader(ExcelSource source, int sheetIndex, int startRow, ImportRowPlan<?> plan) {
+        this.source = source;
+        this.sheetIndex = sheetIndex;
+        this.startRow = startRow;
+        this.plan = plan;
+    }
+
+    @Override
+    public void read(RowVisitor visitor) {
+        OPCPackage pkg = null;
+        try {
+            pkg = this.source.openPackage();
+            XSSFReader reader = new XSSFReader(pkg);
+            SheetHandler handler = new SheetHandler(
+                new ReadOnlySharedStringsTable(pkg),
+                reader.getStylesTable(),
+                isDate1904(reader),
+                visitor
+            );
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            for (int i = 0; sheets.hasNext(); i++) {
+                try (InputStream sheet = sheets.next()) {
+                    if (i == this.sheetIndex) {
+                        this.parse(sheet, handler);
+                        return;
+                    }
+                }
+            }
+
+            throw new UtilException(String.format("sheet索引%d超出范围", this.sheetIndex));
+        } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw ExceptionUtil.UTIL_EXCEPTION_FUNCTION.apply(e);
+        } finally {
+            // 只读打开的包不能close 否则会尝试保存
+            if (Objects.nonNull(pkg)) {
+                pkg.revert();
+            }
+        }
+    }
+
+    /**
+     * 解析sheet xml
+     * @param sheet   sheet xml流
+     * @param handler sax处理器
+     * @throws IOException                  读取异常
+     * @throws SAXException                 解析异常
+     * @throws ParserConfigurationException 解析器配置异常
+     */
+    private void parse(InputStream sheet, SheetHandler handler)
+        throws IOException, SAXException, ParserConfigurationException {
+        XMLReader parser = SAXHelper.newXMLReader();
+        parser.setContentHandler(handler);
+        try {
+            parser.parse(new InputSource(sheet));
+        } catch (StopReadingException ignored) {
+            // 回调要求停止读取
+        }
+    }
+
+    /**
+     * 工作簿是否使用1904日期系统 mac创建的工作簿可能使用
+     * @param reader {@link XSSFReader}
+     * @return workbookPr@date1904
+     * @throws IOException                  读取异常
+     * @throws OpenXML4JException           包格式异常
+     * @throws SAXException                 解析异常
+     * @throws ParserConfigurationException 解析器配置异常
+     */
+    private static boolean isDate1904(XSSFReader reader)
+        throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+        boolean[] date1904 = new boolean[1];
+        XMLReader parser = SAXHelper.newXMLReader();
+        parser.setContentHandler(new DefaultHandler() {
+            @Override
+            public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                if ("workbookPr".equals(localName)) {
+                    String value = attributes.getValue("date1904");
+                    date1904[0] = "1".equals(value) || "true".equalsIgnoreCase(value);
+                    throw new StopReadingException();
+                }
+                // workbookPr位于sheets之前 读到sheets说明没有设置
+                if ("sheets".equals(localName)) {
+                    throw new StopReadingException();
+                }
+            }
+        });
+        try (InputStream workbook = reader.getWorkbookData()) {
+            parser.parse(new InputSource(workbook));
+        } catch (StopReadingException ignored) {
+            // 已读取到workbookPr
+        }
+
+        return date1904[0];
+    }
+
+    /**
+     * 解析ISO-8601日期单元格值(t="d") 如2018-07-03T10:22:00Z、2018-07-03
+     * 没有时区的按系统时区处理
+     * @param raw xml中的值
+     * @return {@link Date} 无法解析时返回原值
+     */
+    static Object isoDate(String raw) {
+        try {
+            if (raw.indexOf('T') < 0) {
+                return Date.from(LocalDate.parse(raw).atStartOfDay(ZoneId.systemDefault()).toInstant());
+            }
+            try {
+                return Date.from(OffsetDateTime.parse(raw).toInstant());
+            } catch (DateTimeParseException e) {
+                return Date.from(LocalDateTime.parse(raw).atZone(ZoneId.systemDefault()).toInstant());
+            }
+        } catch (DateTimeParseException e) {
+            return raw;
+        }
+    }
+
+    /**
+     * 列字母转列索引 如B12 -> 1
+     * @param reference 单元格引用
+     * @return 列索引 从0开始
+     */
+    static int columnIndex(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+
+        return column - 1;
+    }
+
+    /**
+     * 停止读取信号
+     */
+    private static final class StopReadingException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        StopReadingException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * sheet xml sax处理器
+     */
+    private final class SheetHandler extends DefaultHandler {
+        private final ReadOnlySharedStringsTable strings;
+        private final StylesTable styles;
+        /**
+         * 是否使用1904日期系统
+         */
+        private final boolean date1904;
+        private final RowVisitor visitor;
+        /**
+         * 样式索引是否为日期格式缓存
+         */
+        private final Map<Integer, Boolean> dateStyles = new HashMap<>(16);
+        /**
+         * 单元格值缓冲
+         */
+        private final StringBuilder text = new StringBuilder(64);
+
+        private int rowNum = -1;
+        private int column = -1;
+        private Object[] cells;
+        private String cellType;
+        private int cellStyle;
+        /**
+         * 当前单元格是否需要读取
+         */
+        private boolean capture;
+        /**
+         * 当前是否处于值元素中
+         */
+        private boolean inValue;
+        /**
+         * 当前是否处于注音元素中
+         */
+        private boolean inPhonetic;
+
+        SheetHandler(ReadOnlySharedStringsTable strings, StylesTable styles, boolean date1904, RowVisitor visitor) {
+            this.strings = strings;
+            this.styles = styles;
+            this.date1904 = date1904;
+            this.visitor = visitor;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    String r = attributes.getValue("r");
+                    this.rowNum = Objects.isNull(r) ? this.rowNum + 1 : Integer.parseInt(r) - 1;
+                    this.column = -1;
+                    this.cells = this.rowNum < XlsxSheetReader.this.startRow ?
+                        null : new Object[XlsxSheetReader.this.plan.width()];
+                    break;
+                case "c":
+                    String reference = attributes.getValue("r");
+                    this.column = Objects.isNull(reference) ? this.column + 1 : columnIndex(reference);
+                    this.capture = Objects.nonNull(this.cells) && XlsxSheetReader.this.plan.isMapped(this.column);
+                    if (this.capture) {
+                        this.cellType = attributes.getValue("t");
+                        String style = attributes.getValue("s");
+                        this.cellStyle = Objects.isNull(style) ? -1 : Integer.parseInt(style);
+                        this.text.setLength(0);
+                    }
+                    break;
+                case "v":
+                case "t":
+                    this.inValue = this.capture && !this.inPhonetic;
+                    break;
+                case "rPh":
+                    this.inPhonetic = true;
+                    break;
+                case "dimension":
+                    this.dimension(attributes.getValue("ref"));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v":
+                case "t":
+                    this.inValue = false;
+                    break;
+                case "rPh":
+                    this.inPhonetic = false;
+                    break;
+                case "c":
+                    if (this.capture && this.text.length() > 0) {
+                        this.cells[this.column] = this.value(this.text.toString());
+                    }
+                    this.capture = false;
+                    break;
+                case "row":
+                    if (Objects.nonNull(this.cells) && !this.visitor.visit(this.rowNum, this.cells)) {
+                        throw new StopReadingException();
+                    }
+                    this.cells = null;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (this.inValue) {
+                this.text.append(ch, start, length);
+            }
+        }
+
+        /**
+         * 按单元格类型转换值
+         * @param raw xml中的值
+         * @return {@link String}、{@link Double}、{@link java.util.Date}、{@link Boolean}
+         */
+        private Object value(String raw) {
+            // 没有类型属性的为数字类型
+            switch (Objects.isNull(this.cellType) ? "n" : this.cellType) {
+                case "s":
+                    return this.strings.getEntryAt(Integer.parseInt(raw));
+                case "b":
+                    return "1".equals(raw);
+                case "e":
+                    return null;
+                case "n":
+                    double value = Double.parseDouble(raw);
+                    return this.isDateStyle() ? HSSFDateUtil.getJavaDate(value, this.date1904) : value;
+                case "d":
+                    return isoDate(raw);
+                default:
+                    // inlineStr、str
+                    return raw;
+            }
+        }
+
+        /**
+         * 回调sheet声明的最后一行 如A1:K5000
+         * @param reference 区域引用
+         */
+        private void dimension(String reference) {
+            if (Objects.isNull(reference)) {
+                return;
+            }
+
+            String last = reference.substring(reference.indexOf(':') + 1);
+            int row = 0;
+            for (int i = 0; i < last.length(); i++) {
+                char c = last.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    row = row * 10 + (c - '0');
+                }
+            }
+            this.visitor.dimension(row - 1);
+        }
+
+        /**
+         * 当前单元格样式是否为日期格式
+         * @return true/false
+         */
+        private boolean isDateStyle() {
+            if (this.cellStyle < 0) {
+                return false;
+            }
+
+            return this.dateStyles.computeIfAbsent(this.cellStyle, index -> {
+                XSSFCellStyle style = this.styles.getStyleAt(index);
+                return Objects.nonNull(style) &&
+                    HSSFDateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+            });
+        }
+    }
+}